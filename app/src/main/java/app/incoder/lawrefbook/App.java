@@ -16,15 +16,9 @@
 
 package app.incoder.lawrefbook;
 
-import android.annotation.SuppressLint;
 import android.app.Application;
-import android.content.Context;
-import android.util.Log;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.io.OutputStream;
+import app.incoder.lawrefbook.cache.ArticleCache;
 
 
 /**
@@ -35,46 +29,16 @@ import java.io.OutputStream;
  */
 public class App extends Application {
 
-    private static final String TAG = "App";
-
-    public static void packDataBase(Context context) {
-        // internal
-        @SuppressLint("SdCardPath")
-        String internalPath = "/data/data/app.incoder.lawrefbook/databases";
-        String sqliteName = "/db.sqlite3";
-        // external
-        String originPath = "Laws" + sqliteName;
-
-        // check internal SQLite is existed
-        if (!(new File(internalPath + sqliteName)).exists()) {
-            File f = new File(internalPath);
-            // if databases category is not exist
-            if (!f.exists()) {
-                if (f.mkdir()) {
-                    Log.d(TAG, "create databases");
-                }
-            }
-            try {
-                InputStream is = context.getAssets().open(originPath);
-                OutputStream os = new FileOutputStream(internalPath + sqliteName);
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = is.read(buffer)) > 0) {
-                    os.write(buffer, 0, length);
-                }
-                os.flush();
-                os.close();
-                is.close();
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        ArticleCache.getInstance(this).trimMemory(level);
     }
 
     @Override
-    public void onCreate() {
-        super.onCreate();
-        packDataBase(getApplicationContext());
+    public void onLowMemory() {
+        super.onLowMemory();
+        ArticleCache.getInstance(this).clear();
     }
 
 }
@@ -20,41 +20,43 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.res.AssetManager;
 import android.net.Uri;
+import android.util.JsonReader;
+import android.util.JsonToken;
 import android.webkit.WebView;
 import android.widget.Toast;
 
 import androidx.core.content.FileProvider;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserFactory;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import app.incoder.lawrefbook.model.Article;
-import app.incoder.lawrefbook.model.Content;
-import app.incoder.lawrefbook.model.Extended;
 import app.incoder.lawrefbook.model.Lawre;
-import app.incoder.lawrefbook.model.Toc;
-import app.incoder.lawrefbook.model.Type;
+import app.incoder.lawrefbook.parser.ArticleCodec;
+import app.incoder.lawrefbook.parser.ArticleParser;
 import app.incoder.lawrefbook.ui.content.DocumentViewActivity;
+import app.incoder.lawrefbook.util.MappedAssets;
 
 /**
  * LawRefBookRepository
@@ -64,110 +66,221 @@ import app.incoder.lawrefbook.ui.content.DocumentViewActivity;
  */
 public class LawRefBookRepository {
 
+    private static final String DATA_JSON = "Laws/data.json";
+
+    private static volatile List<Lawre> sData;
+    private static final Map<String, List<Lawre>> sDataByCategory = new ConcurrentHashMap<>();
+
     public static String getContext(String fileName, Context context) {
-        StringBuilder stringBuilder = new StringBuilder();
         try {
-            AssetManager assetManager = context.getAssets();
-            BufferedReader bf = new BufferedReader(new InputStreamReader(assetManager.open(fileName), StandardCharsets.UTF_8));
-            String line;
-            while ((line = bf.readLine()) != null) {
-                stringBuilder.append(line);
-            }
+            ByteBuffer buffer = MappedAssets.map(context, fileName);
+            return StandardCharsets.UTF_8.decode(buffer).toString();
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return stringBuilder.toString();
+        return "";
     }
 
+    /**
+     * 某一分类的数据，首次读取后缓存
+     * <p>
+     * 已读取全部数据时直接取其中的分类；data.json 为以分类为键的对象时，读到该分类即停止，其余分类直接跳过；
+     * 为数组时需要读完整个文件，顺带缓存全部数据
+     */
     public static List<Lawre> getData(String category, Context context) {
-        String json = getContext("Laws/data.json", context);
-        JSONArray jsonArray;
-        List<Lawre> jetPackModelList = new ArrayList<>();
-        try {
-            JSONObject keyBean = new JSONObject(json);
-            jsonArray = (JSONArray) keyBean.get(category);
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject object = jsonArray.getJSONObject(i);
-                Lawre bean = new Lawre();
-                bean.setCategory(object.getString("category"));
-                bean.setFolder(object.getString("folder"));
-                bean.setId(object.getString("id"));
-                bean.setGroup(object.getString("group"));
-                bean.setIsSubFolder(object.getBoolean("isSubFolder"));
-                JSONArray laws = object.getJSONArray("laws");
-                List<Lawre.LawsBean> lawsBeanList = new ArrayList<>(laws.length());
-                for (int j = 0; j < laws.length(); j++) {
-                    JSONObject lawsBeanObject = laws.getJSONObject(i);
-                    Lawre.LawsBean lawsBean = new Lawre.LawsBean();
-                    lawsBean.setLevel(lawsBeanObject.getString("level"));
-                    lawsBean.setName(lawsBeanObject.getString("name"));
-                    lawsBean.setId(lawsBeanObject.getString("id"));
-                    lawsBeanList.add(lawsBean);
-                }
-                bean.setLaws(lawsBeanList);
-                JSONArray links = object.getJSONArray("links");
-                List<String> stringList = new ArrayList<>(links.length());
-                for (int k = 0; k < links.length(); k++) {
-                    String string = links.getString(k);
-                    stringList.add(string);
-                }
-                bean.setLinks(stringList);
-                jetPackModelList.add(bean);
-            }
-        } catch (JSONException e) {
-            e.printStackTrace();
+        List<Lawre> cached = sDataByCategory.get(category);
+        if (cached != null) {
+            return cached;
+        }
+        if (sData != null) {
+            // 全部数据读取时已按分类缓存，不在其中即没有这个分类
+            return new ArrayList<>();
         }
-        return jetPackModelList;
+        List<Lawre> data = readData(context, category);
+        if (data == null) {
+            return new ArrayList<>();
+        }
+        sDataByCategory.putIfAbsent(category, Collections.unmodifiableList(data));
+        return sDataByCategory.get(category);
     }
 
+    /**
+     * 全部数据，首次读取后缓存
+     */
     public static List<Lawre> getData(Context context) {
-        String json = getContext("Laws/data.json", context);
-        List<Lawre> jetPackModelList = new ArrayList<>();
-        try {
-            JSONArray keyBean = new JSONArray(json);
-            for (int i = 0; i < keyBean.length(); i++) {
-                JSONObject object = keyBean.getJSONObject(i);
-                Lawre bean = new Lawre();
-                bean.setCategory(object.getString("category"));
-                bean.setFolder(object.getString("folder"));
-                bean.setId(object.getString("id"));
-                if (!object.isNull("group")) {
-                    bean.setGroup(object.getString("group"));
+        if (sData == null) {
+            synchronized (LawRefBookRepository.class) {
+                if (sData == null && readData(context, null) == null) {
+                    return new ArrayList<>();
                 }
-                if (!object.isNull("isSubFolder")) {
-                    bean.setIsSubFolder(object.getBoolean("isSubFolder"));
+            }
+        }
+        return sData;
+    }
+
+    /**
+     * 从 assets 流式读取 data.json，直接建立 Lawre，不经过整份字符串与 JSONObject。
+     * 读到全部数据时一并缓存到 {@link #sData} 与各分类
+     *
+     * @param category 为 null 时读取全部
+     * @return 读取失败时为 null
+     */
+    private static List<Lawre> readData(Context context, String category) {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                context.getAssets().open(DATA_JSON), StandardCharsets.UTF_8))) {
+            Map<String, List<Lawre>> groups = new LinkedHashMap<>();
+            List<Lawre> data;
+            if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                data = readLawreArray(reader);
+                for (Lawre lawre : data) {
+                    groups.computeIfAbsent(lawre.getCategory(), key -> new ArrayList<>()).add(lawre);
                 }
-                if (!object.isNull("laws")) {
-                    JSONArray laws = object.getJSONArray("laws");
-                    List<Lawre.LawsBean> lawsBeanList = new ArrayList<>(laws.length());
-                    for (int j = 0; j < laws.length(); j++) {
-                        JSONObject lawsBeanObject = laws.getJSONObject(j);
-                        Lawre.LawsBean lawsBean = new Lawre.LawsBean();
-                        lawsBean.setLevel(lawsBeanObject.getString("level"));
-                        lawsBean.setName(lawsBeanObject.getString("name"));
-                        if (!lawsBeanObject.isNull("filename")) {
-                            lawsBean.setFilename(lawsBeanObject.getString("filename"));
-                        }
-                        lawsBean.setId(lawsBeanObject.getString("id"));
-                        lawsBeanList.add(lawsBean);
+            } else {
+                data = new ArrayList<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (category == null) {
+                        List<Lawre> group = readLawreArray(reader);
+                        groups.computeIfAbsent(name, key -> new ArrayList<>()).addAll(group);
+                        data.addAll(group);
+                    } else if (category.equals(name)) {
+                        // 只需要这一个分类，不再读取之后的内容
+                        return readLawreArray(reader);
+                    } else {
+                        reader.skipValue();
                     }
-                    bean.setLaws(lawsBeanList);
                 }
-                if (!object.isNull("links")) {
-                    JSONArray links = object.getJSONArray("links");
-                    List<String> stringList = new ArrayList<>(links.length());
-                    for (int k = 0; k < links.length(); k++) {
-                        String string = links.getString(k);
-                        stringList.add(string);
-                    }
-                    bean.setLinks(stringList);
+                if (category != null) {
+                    // 没有这个分类，只读了部分数据，不能作为全部数据缓存
+                    return data;
                 }
-                jetPackModelList.add(bean);
             }
-        } catch (JSONException e) {
+            cacheAll(data, groups);
+            if (category == null) {
+                return data;
+            }
+            List<Lawre> group = groups.get(category);
+            return group != null ? group : new ArrayList<>();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static void cacheAll(List<Lawre> data, Map<String, List<Lawre>> groups) {
+        synchronized (LawRefBookRepository.class) {
+            if (sData == null) {
+                sData = Collections.unmodifiableList(data);
+            }
+        }
+        for (Map.Entry<String, List<Lawre>> entry : groups.entrySet()) {
+            if (entry.getKey() != null) {
+                sDataByCategory.putIfAbsent(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            }
+        }
+    }
+
+    private static List<Lawre> readLawreArray(JsonReader reader) throws IOException {
+        List<Lawre> result = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            result.add(readLawre(reader));
+        }
+        reader.endArray();
+        return result;
+    }
+
+    private static Lawre readLawre(JsonReader reader) throws IOException {
+        Lawre bean = new Lawre();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "category":
+                    bean.setCategory(reader.nextString());
+                    break;
+                case "folder":
+                    bean.setFolder(reader.nextString());
+                    break;
+                case "id":
+                    bean.setId(reader.nextString());
+                    break;
+                case "group":
+                    bean.setGroup(reader.nextString());
+                    break;
+                case "isSubFolder":
+                    bean.setIsSubFolder(reader.nextBoolean());
+                    break;
+                case "laws":
+                    bean.setLaws(readLawsArray(reader));
+                    break;
+                case "links":
+                    bean.setLinks(readStringArray(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return bean;
+    }
+
+    private static List<Lawre.LawsBean> readLawsArray(JsonReader reader) throws IOException {
+        List<Lawre.LawsBean> result = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            Lawre.LawsBean lawsBean = new Lawre.LawsBean();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "level":
+                        lawsBean.setLevel(reader.nextString());
+                        break;
+                    case "name":
+                        lawsBean.setName(reader.nextString());
+                        break;
+                    case "filename":
+                        lawsBean.setFilename(reader.nextString());
+                        break;
+                    case "id":
+                        lawsBean.setId(reader.nextString());
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            result.add(lawsBean);
         }
-        return jetPackModelList;
+        reader.endArray();
+        return result;
+    }
+
+    private static List<String> readStringArray(JsonReader reader) throws IOException {
+        List<String> result = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                result.add(null);
+            } else {
+                result.add(reader.nextString());
+            }
+        }
+        reader.endArray();
+        return result;
     }
 
     public static List<String> getCatalog(Context context) {
@@ -189,125 +302,39 @@ public class LawRefBookRepository {
     }
 
     public static Article getArticle(Context context, String path) {
-        Article article = new Article();
-        Extended extended = new Extended();
-        List<Toc> tocList = new ArrayList<>();
-        List<String> history = new ArrayList<>();
-        List<Content> articleContent = new ArrayList<>();
-        int count = 0;
+        return getArticle(context, path, null);
+    }
+
+    /**
+     * 优先读取预编译文件，没有时解析 Markdown
+     *
+     * @param listener 只在需要解析 Markdown 时分批回调，可为 null
+     */
+    public static Article getArticle(Context context, String path, ArticleParser.ProgressListener listener) {
+        Article compiled = getCompiledArticle(context, path);
+        if (compiled != null) {
+            return compiled;
+        }
         try {
-            AssetManager assetManager = context.getAssets();
-            BufferedReader bf = new BufferedReader(new InputStreamReader(assetManager.open(path), StandardCharsets.UTF_8));
-            String line;
-            boolean body = false;
-            int tocIndex = 0;
-            int tocId = 0;
-            // key = realLevel, value = parentId
-            Map<Integer, Integer> indexMap = new HashMap<>(8);
-            // 记录上一次标题的 parentId，初始化默认没有，即定义为 -1
-            Integer compareLevelParentId = -1;
-            StringBuilder sb = new StringBuilder();
-            while ((line = bf.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) {
-                    continue;
-                }
-//                if ("<!-- INFO END -->".equals(line)) {
-//                    body = true;
-//                    continue;
-//                }
-                Content content = new Content();
-                if (true) {
-                    if (line.matches("^#+")) {
-                        // 行内容 ## 的标题，丢弃
-                        continue;
-                    }
-                    if (line.matches("^#+ .*")) {
-                        tocIndex++;
-                        tocId++;
-                        String headline = line.replaceAll("^#+ ", "");
-                        int level = line.split("#").length;
-                        Toc toc = new Toc();
-                        toc.setId(tocId);
-                        int realLevel = level - 2;
-                        Integer currentLevelParentId = indexMap.get(realLevel);
-                        // 利用 map 特性记录最新 top 的 level 和 id
-                        if (!compareLevelParentId.equals(currentLevelParentId)) {
-                            // 第一层级，清除记录
-                            if (realLevel == 1) {
-                                indexMap.clear();
-                            }
-                            if (currentLevelParentId == null || compareLevelParentId < currentLevelParentId) {
-                                indexMap.put(realLevel, tocId - 1);
-                                compareLevelParentId = tocId - 1;
-                            } else {
-                                indexMap.put(realLevel, currentLevelParentId);
-                                compareLevelParentId = currentLevelParentId;
-                            }
-                        }
-                        Integer realLevelParentId = indexMap.get(realLevel);
-                        toc.setParentId(realLevelParentId != null ? realLevelParentId : -1);
-                        toc.setPosition(tocIndex);
-                        toc.setTitle(headline);
-                        toc.setTitleLevel(realLevel);
-                        tocList.add(toc);
-                        if (headline.matches("^(第[一二三四五六七八九十零百千万]).*?") && realLevel == 1) {
-                            content.setType(Type.SECTION_TYPE.getCode());
-                        } else if (realLevel > 1) {
-                            content.setType(Type.NODE_TYPE.getCode());
-                        }
-                        content.setRule(headline);
-                        articleContent.add(content);
-                    } else {
-                        if (line.matches("^$")) {
-                            // empty line
-                            continue;
-                        } else if (line.matches("(第[一二三四五六七八九十零百千万]*条)( *)([\\s\\S]*)")) {
-                            content.setType(Type.CONTENT_TYPE.getCode());
-                            if (sb.length() > 0) {
-                                content.setRule(sb.toString());
-                                tocIndex++;
-                                articleContent.add(content);
-                                // clear sb
-                                sb.delete(0, sb.length());
-                            }
-                            sb.append(line);
-                        } else {
-                            sb.append("\n").append(line);
-                        }
-                        // 预解析，查看是否为最后一行内容
-                        if (bf.readLine() == null) {
-                            Content lastContent = new Content();
-                            lastContent.setType(Type.CONTENT_TYPE.getCode());
-                            lastContent.setRule(sb.toString());
-                            tocIndex++;
-                            articleContent.add(lastContent);
-                        }
-                    }
-                } else {
-                    if (line.matches("^#+ .*")) {
-                        if (article.getTitle() != null && !article.getTitle().trim().isEmpty()) {
-                            String temp = line.replaceAll("^#+ ", "");
-                            article.setTitle(article.getTitle() + temp);
-                        } else {
-                            article.setTitle(line.replaceAll("^#+ ", ""));
-                        }
-                    } else {
-                        history.add(line);
-                    }
-                }
-                count = count + line.length();
-            }
-            extended.setWordsCount(count + "");
-            extended.setCorrectHistory(history);
-            article.setContents(articleContent);
-            article.setToc(tocList);
-            article.setInfo(extended);
+            return ArticleParser.parse(MappedAssets.map(context, path), listener);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 读取构建期预编译的文章，不存在或格式不符时返回 null，由调用方回退到 Markdown 解析
+     */
+    private static Article getCompiledArticle(Context context, String path) {
+        try {
+            return ArticleCodec.read(MappedAssets.map(context, ArticleCodec.compiledPath(path)));
+        } catch (FileNotFoundException e) {
+            return null;
         } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
-        return article;
     }
 
     /**
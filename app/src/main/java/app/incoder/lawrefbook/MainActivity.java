@@ -16,6 +16,7 @@
 
 package app.incoder.lawrefbook;
 
+import android.annotation.SuppressLint;
 import android.content.Intent;
 import android.content.res.Configuration;
 import android.os.Bundle;
@@ -26,21 +27,22 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.SearchView;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.viewpager2.adapter.FragmentStateAdapter;
 import androidx.viewpager2.widget.ViewPager2;
 
 import com.google.android.material.tabs.TabLayout;
 import com.google.android.material.tabs.TabLayoutMediator;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
-import app.incoder.lawrefbook.sqlite.Sqlite3Dao;
 import app.incoder.lawrefbook.storage.Category;
-import app.incoder.lawrefbook.storage.Law;
 import app.incoder.lawrefbook.ui.favorite.FavoriteActivity;
 import app.incoder.lawrefbook.ui.feed.FeedFragment;
+import app.incoder.lawrefbook.ui.search.SearchActivity;
 import app.incoder.lawrefbook.ui.settings.SettingsActivity;
 
 /**
@@ -51,49 +53,104 @@ import app.incoder.lawrefbook.ui.settings.SettingsActivity;
  */
 public class MainActivity extends AppCompatActivity {
 
-    private List<FeedFragment> mFragmentList;
     private TabLayout mTabLayout;
-    private String queryText;
-    private List<Category> mCategories;
+    private MainViewModel mViewModel;
+    /**
+     * 标题搜索结果，null 表示没有在搜索
+     */
+    private MainViewModel.TitleResults mTitleResults;
+    private List<Category> mCategories = Collections.emptyList();
+    private FragmentStateAdapter mPagerAdapter;
+    /**
+     * 分类 id 到页面 id，FragmentStateAdapter 据此保留或移除页面
+     */
+    private final Map<String, Long> mItemIds = new HashMap<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
-        mCategories = Sqlite3Dao.categoryList(this);
 
         ViewPager2 viewPager2 = findViewById(R.id.vp_content);
         mTabLayout = findViewById(R.id.tabLayout);
-        mFragmentList = new ArrayList<>(mCategories.size());
-        mCategories.forEach(t -> mFragmentList.add(FeedFragment.newInstance(t)));
-        viewPager2.setAdapter(new FragmentStateAdapter(this) {
+        mPagerAdapter = new FragmentStateAdapter(this) {
             @NonNull
             @Override
             public Fragment createFragment(int position) {
-                return mFragmentList.get(position);
+                // 页面首次显示时才创建
+                return FeedFragment.newInstance(mCategories.get(position));
             }
 
             @Override
             public int getItemCount() {
-                return mFragmentList.size();
+                return mCategories.size();
             }
-        });
-        viewPager2.setOffscreenPageLimit(mFragmentList.size());
-        new TabLayoutMediator(mTabLayout, viewPager2, true, (tab, position) -> {
-            tab.setText(mCategories.get(position).getName());
-            if (queryText != null && !queryText.isEmpty()) {
-                searchData(queryText);
+
+            @Override
+            public long getItemId(int position) {
+                return itemId(mCategories.get(position));
             }
-        }).attach();
-        viewPager2.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+
             @Override
-            public void onPageSelected(int position) {
-                super.onPageSelected(position);
-                if (queryText != null && !queryText.isEmpty()) {
-                    searchData(queryText);
+            public boolean containsItem(long itemId) {
+                for (Category category : mCategories) {
+                    if (itemId(category) == itemId) {
+                        return true;
+                    }
                 }
+                return false;
             }
-        });
+        };
+        viewPager2.setAdapter(mPagerAdapter);
+        // 搜索结果已按分类分组，各页面自行观察，切换标签不再重新查询
+        new TabLayoutMediator(mTabLayout, viewPager2, true, (tab, position) -> tab.setText(tabText(position))).attach();
+
+        mViewModel = new ViewModelProvider(this).get(MainViewModel.class);
+        mViewModel.getCategories().observe(this, this::showCategories);
+        mViewModel.getTitleResults().observe(this, this::showTitleResults);
+        mViewModel.load();
+    }
+
+    /**
+     * 搜索时标签显示该分类的结果数
+     */
+    private void showTitleResults(MainViewModel.TitleResults results) {
+        mTitleResults = results;
+        for (int i = 0; i < mTabLayout.getTabCount() && i < mCategories.size(); i++) {
+            TabLayout.Tab tab = mTabLayout.getTabAt(i);
+            if (tab != null) {
+                tab.setText(tabText(i));
+            }
+        }
+    }
+
+    private CharSequence tabText(int position) {
+        Category category = mCategories.get(position);
+        if (mTitleResults == null) {
+            return category.getName();
+        }
+        return getString(R.string.tab_search_count, category.getName(), mTitleResults.getLaws(category.getId()).size());
+    }
+
+    /**
+     * 先显示快照，之后的最新结果与之相同时只替换数据，不重建页面
+     */
+    @SuppressLint("NotifyDataSetChanged")
+    private void showCategories(List<Category> categories) {
+        boolean same = MainViewModel.sameCategories(mCategories, categories);
+        mCategories = categories;
+        if (!same) {
+            mPagerAdapter.notifyDataSetChanged();
+        }
+    }
+
+    private long itemId(Category category) {
+        Long id = mItemIds.get(category.getId());
+        if (id == null) {
+            id = (long) mItemIds.size();
+            mItemIds.put(category.getId(), id);
+        }
+        return id;
     }
 
     @Override
@@ -130,22 +187,20 @@ public class MainActivity extends AppCompatActivity {
             searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
                 @Override
                 public boolean onQueryTextSubmit(String query) {
-                    queryText = query;
-                    searchData(query);
+                    mViewModel.search(query);
                     return true;
                 }
 
                 @Override
                 public boolean onQueryTextChange(String newText) {
-                    if (newText.isEmpty()) {
-                        queryText = "";
-                    } else {
-                        queryText = newText;
-                    }
-                    searchData(queryText);
+                    // 后台查询并去抖，连续输入不会阻塞界面
+                    mViewModel.search(newText);
                     return true;
                 }
             });
+        } else if (id == R.id.menu_full_text_search) {
+            startActivity(new Intent(this, SearchActivity.class));
+            return true;
         } else if (id == R.id.menu_collections) {
             startActivity(new Intent(this, FavoriteActivity.class));
             return true;
@@ -155,15 +210,4 @@ public class MainActivity extends AppCompatActivity {
         }
         return super.onOptionsItemSelected(item);
     }
-
-    private void searchData(String query) {
-        Category category = mCategories.get(mTabLayout.getSelectedTabPosition());
-        // 获取所有法律数据（包括所有子分类的法律），用于搜索
-        List<Law> allLaws = Sqlite3Dao.getAllLawsByParentCategory(this, category.getId());
-        // 根据搜索关键词过滤
-        List<Law> data = allLaws.stream()
-                .filter(t -> t.getName().contains(query))
-                .collect(Collectors.toList());
-        mFragmentList.get(mTabLayout.getSelectedTabPosition()).changeLawRef(data);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook;
+
+import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import app.incoder.lawrefbook.catalog.CatalogIndex;
+import app.incoder.lawrefbook.catalog.TitleIndex;
+import app.incoder.lawrefbook.search.PinyinIndex;
+import app.incoder.lawrefbook.sqlite.Sqlite3Dao;
+import app.incoder.lawrefbook.storage.Category;
+import app.incoder.lawrefbook.storage.Law;
+import app.incoder.lawrefbook.util.MappedAssets;
+
+/**
+ * MainViewModel
+ * <p>
+ * 首页分类标签。先发布上次运行时保存的分类快照，标签不必等待目录加载；
+ * 随后在后台线程读取最新分类，有变化时再次发布并更新快照。
+ * 标题搜索覆盖全部分类，输入停顿后在后台查询 {@link TitleIndex}，结果按第一层分类分组，各标签页取自己的一组；
+ * 输入为字母时再按 {@link PinyinIndex} 查找标题与目录，如 xingfa、mfd
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 19:40
+ */
+public class MainViewModel extends AndroidViewModel {
+
+    private static final String TAG = "MainViewModel";
+    private static final String SNAPSHOT = "catalog.snapshot";
+    private static final int SNAPSHOT_VERSION = 1;
+    /**
+     * 输入停顿超过该时间才查询
+     */
+    private static final long SEARCH_DELAY_MS = 150;
+    /**
+     * 拼音查询至少的字母数，单个字母命中过多
+     */
+    private static final int PINYIN_MIN_LENGTH = 2;
+    private static final int PINYIN_LIMIT = 200;
+
+    /**
+     * thread full parameters
+     * corePoolSize：1
+     * maximumPoolSize：1
+     * keepAliveTime：survival 30 seconds
+     * workQueue：LinkedBlockingQueue
+     * threadFactory：defaultThreadFactory
+     * handlerPolicy：AbortPolicy
+     */
+    private static final ThreadPoolExecutor CATALOG_EXECUTOR;
+
+    static {
+        CATALOG_EXECUTOR = new ThreadPoolExecutor(1,
+                1
+                , 30
+                , TimeUnit.SECONDS
+                , new LinkedBlockingQueue<>()
+                , Executors.defaultThreadFactory()
+                , new ThreadPoolExecutor.AbortPolicy());
+        CATALOG_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * thread full parameters
+     * corePoolSize：1
+     * threadFactory：defaultThreadFactory
+     * handlerPolicy：AbortPolicy
+     * removeOnCancelPolicy：true，取消的延迟查询立即移出队列
+     */
+    private static final ScheduledThreadPoolExecutor SEARCH_EXECUTOR;
+
+    static {
+        SEARCH_EXECUTOR = new ScheduledThreadPoolExecutor(1,
+                Executors.defaultThreadFactory()
+                , new ThreadPoolExecutor.AbortPolicy());
+        SEARCH_EXECUTOR.setRemoveOnCancelPolicy(true);
+    }
+
+    private static volatile PinyinIndex sPinyinIndex;
+    /**
+     * 开发期未生成拼音索引时只记录一次
+     */
+    private static volatile boolean sPinyinMissing;
+
+    private final MutableLiveData<List<Category>> mCategories = new MutableLiveData<>();
+    private boolean mLoaded;
+
+    private final MutableLiveData<TitleResults> mTitleResults = new MutableLiveData<>();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /**
+     * 每次输入加一，旧查询发现代数变化后丢弃结果
+     */
+    private final AtomicInteger mSearchGeneration = new AtomicInteger();
+    private ScheduledFuture<?> mPendingSearch;
+
+    public MainViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    /**
+     * 第一层分类，可能先后发布快照与最新结果
+     */
+    public LiveData<List<Category>> getCategories() {
+        return mCategories;
+    }
+
+    /**
+     * 开始加载，屏幕旋转等重复调用不会重新加载
+     */
+    public void load() {
+        if (mLoaded) {
+            return;
+        }
+        mLoaded = true;
+        Application application = getApplication();
+        File snapshotFile = new File(application.getFilesDir(), SNAPSHOT);
+        CATALOG_EXECUTOR.execute(() -> {
+            List<Category> snapshot = readSnapshot(snapshotFile);
+            if (!snapshot.isEmpty()) {
+                mCategories.postValue(snapshot);
+            }
+            List<Category> categories = Sqlite3Dao.categoryList(application);
+            mCategories.postValue(categories);
+            if (!sameCategories(snapshot, categories)) {
+                writeSnapshot(snapshotFile, categories);
+            }
+        });
+    }
+
+    /**
+     * 标题搜索结果，null 表示没有在搜索
+     */
+    public LiveData<TitleResults> getTitleResults() {
+        return mTitleResults;
+    }
+
+    /**
+     * 在主线程调用。输入停顿 {@link #SEARCH_DELAY_MS} 后在后台查询，新的输入取消尚未开始的查询并丢弃进行中查询的结果；
+     * 查询为空时立即发布 null，各标签页恢复完整列表
+     */
+    public void search(String query) {
+        int generation = mSearchGeneration.incrementAndGet();
+        if (mPendingSearch != null) {
+            mPendingSearch.cancel(false);
+            mPendingSearch = null;
+        }
+        String trimmed = query != null ? query.trim() : "";
+        if (trimmed.isEmpty()) {
+            mTitleResults.setValue(null);
+            return;
+        }
+        TitleResults current = mTitleResults.getValue();
+        if (current != null && current.getQuery().equals(trimmed)) {
+            return;
+        }
+        Application application = getApplication();
+        mPendingSearch = SEARCH_EXECUTOR.schedule(() -> {
+            if (mSearchGeneration.get() != generation) {
+                return;
+            }
+            TitleResults results = TitleResults.find(application, trimmed);
+            // 在主线程再比较一次，保证晚到的旧结果不会覆盖之后的输入
+            mMainHandler.post(() -> {
+                if (mSearchGeneration.get() == generation) {
+                    mTitleResults.setValue(results);
+                }
+            });
+        }, SEARCH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        mSearchGeneration.incrementAndGet();
+        if (mPendingSearch != null) {
+            mPendingSearch.cancel(false);
+        }
+    }
+
+    /**
+     * 首次调用时映射 assets 中的拼音索引，应在后台线程调用
+     *
+     * @return 索引缺失或损坏时为 null
+     */
+    private static PinyinIndex getPinyinIndex(Application application) {
+        if (sPinyinIndex == null && !sPinyinMissing) {
+            synchronized (MainViewModel.class) {
+                if (sPinyinIndex == null && !sPinyinMissing) {
+                    try {
+                        sPinyinIndex = PinyinIndex.read(MappedAssets.map(application, PinyinIndex.ASSET_PATH));
+                    } catch (IOException e) {
+                        sPinyinMissing = true;
+                        Log.w(TAG, "pinyin index unavailable", e);
+                    }
+                }
+            }
+        }
+        return sPinyinIndex;
+    }
+
+    /**
+     * 分类 id 与名称依次相同
+     */
+    public static boolean sameCategories(List<Category> a, List<Category> b) {
+        if (a == null || b == null || a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!Objects.equals(a.get(i).getId(), b.get(i).getId())
+                    || !Objects.equals(a.get(i).getName(), b.get(i).getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 快照只保存 id、名称与目录，不含每次建立索引时才确定的 catalogId
+     */
+    private static List<Category> readSnapshot(File file) {
+        List<Category> result = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                return result;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                result.add(Category.builder()
+                        .id(in.readUTF())
+                        .name(in.readUTF())
+                        .folder(in.readUTF())
+                        .isSubFolder(0)
+                        .order(i)
+                        .build());
+            }
+        } catch (FileNotFoundException e) {
+            // 首次运行
+        } catch (IOException e) {
+            Log.w(TAG, "discard catalog snapshot", e);
+            result.clear();
+        }
+        return result;
+    }
+
+    private static void writeSnapshot(File file, List<Category> categories) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(categories.size());
+            for (Category category : categories) {
+                out.writeUTF(category.getId());
+                out.writeUTF(category.getName());
+                out.writeUTF(category.getFolder());
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "write catalog snapshot", e);
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            Log.w(TAG, "rename catalog snapshot failed");
+        }
+    }
+
+    /**
+     * 一次标题搜索的结果，按第一层分类分组，组内先是标题包含查询的法规，其次是拼音匹配标题或目录的法规
+     */
+    public static final class TitleResults {
+
+        private final String mQuery;
+        private final Map<String, List<Law>> mLaws;
+        private final Map<Integer, Headline> mHeadlines;
+        private final int mTotal;
+
+        private TitleResults(String query, Map<String, List<Law>> laws, Map<Integer, Headline> headlines, int total) {
+            mQuery = query;
+            mLaws = laws;
+            mHeadlines = headlines;
+            mTotal = total;
+        }
+
+        static TitleResults find(Application application, String query) {
+            TitleIndex index = Sqlite3Dao.getTitleIndex(application);
+            CatalogIndex catalog = Sqlite3Dao.getCatalogIndex(application);
+            LinkedHashSet<Integer> laws = new LinkedHashSet<>();
+            for (int law : index.find(query)) {
+                laws.add(law);
+            }
+            Map<Integer, Headline> headlines = new HashMap<>();
+            String letters = PinyinIndex.normalizeQuery(query);
+            PinyinIndex pinyin = letters != null && letters.length() >= PINYIN_MIN_LENGTH ? getPinyinIndex(application) : null;
+            if (pinyin != null) {
+                for (PinyinIndex.Hit hit : pinyin.find(letters, PINYIN_LIMIT)) {
+                    int law = catalog.findLaw(hit.getPath());
+                    if (law == CatalogIndex.NO_ID || !laws.add(law)) {
+                        continue;
+                    }
+                    if (!hit.isTitle()) {
+                        headlines.put(law, new Headline(hit.getPosition(), hit.getText()));
+                    }
+                }
+            }
+            Map<String, List<Law>> grouped = new HashMap<>();
+            for (int law : laws) {
+                // 第一层分类的 Category.id 即其目录名
+                String category = catalog.getCategoryName(index.getTopCategory(law));
+                List<Law> group = grouped.get(category);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    grouped.put(category, group);
+                }
+                group.add(Sqlite3Dao.getLaw(application, law));
+            }
+            return new TitleResults(query, grouped, headlines, laws.size());
+        }
+
+        public String getQuery() {
+            return mQuery;
+        }
+
+        /**
+         * 全部分类的结果数
+         */
+        public int getTotal() {
+            return mTotal;
+        }
+
+        /**
+         * 第一层分类下的结果，没有时为空列表
+         *
+         * @param categoryId {@link Category#getId()}
+         */
+        public List<Law> getLaws(String categoryId) {
+            List<Law> laws = mLaws.get(categoryId);
+            return laws != null ? Collections.unmodifiableList(laws) : Collections.emptyList();
+        }
+
+        /**
+         * 法规因目录拼音匹配而列出时的目录，标题匹配时为 null
+         */
+        public Headline getHeadline(Law law) {
+            return law.getCatalogId() != null ? mHeadlines.get(law.getCatalogId()) : null;
+        }
+    }
+
+    /**
+     * 拼音匹配的目录
+     */
+    public static final class Headline {
+
+        private final int mPosition;
+        private final String mText;
+
+        Headline(int position, String text) {
+            mPosition = position;
+            mText = text;
+        }
+
+        /**
+         * 目录在 contents 中的下标，打开法规时跳转到此处
+         */
+        public int getPosition() {
+            return mPosition;
+        }
+
+        public String getText() {
+            return mText;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.cache;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import app.incoder.lawrefbook.LawRefBookRepository;
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.CompactArticle;
+import app.incoder.lawrefbook.parser.ArticleParser;
+
+/**
+ * ArticleCache
+ * <p>
+ * 已解析文章的进程内 LRU 缓存，key 为 assets 路径，值为 {@link CompactArticle}，按估算的字节数计量，
+ * 容量为应用堆上限（memory class）的 1/16。预取走 {@link #prefetch(String)}，不计入命中统计
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 12:20
+ */
+public final class ArticleCache {
+
+    private static volatile ArticleCache sInstance;
+
+    private final LruCache<String, CompactArticle> mCache;
+    /**
+     * 已缓存的 key，供 {@link #contains(String)} 查询，不必复制整个 LRU
+     */
+    private final Set<String> mKeys = ConcurrentHashMap.newKeySet();
+    private final Loader mLoader;
+
+    /**
+     * 缓存未命中时的加载方式
+     */
+    interface Loader {
+        @Nullable
+        Article load(@NonNull String path, @Nullable ArticleParser.ProgressListener listener);
+    }
+
+    public static ArticleCache getInstance(Context context) {
+        if (sInstance == null) {
+            synchronized (ArticleCache.class) {
+                if (sInstance == null) {
+                    Context app = context.getApplicationContext();
+                    ActivityManager am = (ActivityManager) app.getSystemService(Context.ACTIVITY_SERVICE);
+                    int maxBytes = am.getMemoryClass() * 1024 * 1024 / 16;
+                    sInstance = new ArticleCache(maxBytes, (path, listener) -> LawRefBookRepository.getArticle(app, path, listener));
+                }
+            }
+        }
+        return sInstance;
+    }
+
+    ArticleCache(int maxBytes, Loader loader) {
+        mLoader = loader;
+        mCache = new LruCache<String, CompactArticle>(maxBytes) {
+            @Override
+            protected int sizeOf(@NonNull String key, @NonNull CompactArticle value) {
+                return value.estimateBytes();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, @NonNull String key, @NonNull CompactArticle oldValue, @Nullable CompactArticle newValue) {
+                if (newValue == null) {
+                    mKeys.remove(key);
+                }
+            }
+        };
+    }
+
+    /**
+     * 命中时直接返回，未命中时同步解析并放入缓存
+     *
+     * @param path assets 相对路径
+     * @return 无法解析时为 null，且不会被缓存
+     */
+    @Nullable
+    public CompactArticle get(@NonNull String path) {
+        return get(path, null);
+    }
+
+    /**
+     * 同 {@link #get(String)}，未命中且需要解析 Markdown 时分批回调已解析的条目
+     */
+    @Nullable
+    public CompactArticle get(@NonNull String path, @Nullable ArticleParser.ProgressListener listener) {
+        CompactArticle compact = mCache.get(path);
+        if (compact == null) {
+            Article article = mLoader.load(path, listener);
+            if (article != null) {
+                compact = CompactArticle.of(article);
+                put(path, compact);
+            }
+        }
+        return compact;
+    }
+
+    /**
+     * 未缓存时解析并放入缓存，用于预取：不经过 LRU 的查询，命中与未命中统计只反映用户打开
+     *
+     * @return 是否新加载了文章，已缓存或无法解析时为 false
+     */
+    public boolean prefetch(@NonNull String path) {
+        if (contains(path)) {
+            return false;
+        }
+        Article article = mLoader.load(path, null);
+        if (article == null) {
+            return false;
+        }
+        put(path, CompactArticle.of(article));
+        return true;
+    }
+
+    private void put(String path, CompactArticle compact) {
+        // 先记录再放入，放入时立即被淘汰的条目会在 entryRemoved 中移除
+        mKeys.add(path);
+        mCache.put(path, compact);
+    }
+
+    /**
+     * 是否已缓存，不计入命中统计，也不调整 LRU 顺序
+     */
+    public boolean contains(@NonNull String path) {
+        return mKeys.contains(path);
+    }
+
+    /**
+     * 响应系统内存回调：后台被回收前清空，运行期内存紧张时减半
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            mCache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            mCache.trimToSize(mCache.size() / 2);
+        }
+    }
+
+    public void clear() {
+        mCache.evictAll();
+    }
+
+    public int getHitCount() {
+        return mCache.hitCount();
+    }
+
+    public int getMissCount() {
+        return mCache.missCount();
+    }
+
+    /**
+     * 当前占用的估算字节数
+     */
+    public int getSize() {
+        return mCache.size();
+    }
+
+    public int getMaxSize() {
+        return mCache.maxSize();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        int hits = mCache.hitCount();
+        int accesses = hits + mCache.missCount();
+        int hitPercent = accesses != 0 ? (100 * hits / accesses) : 0;
+        return String.format("ArticleCache[size=%d,maxSize=%d,hits=%d,misses=%d,hitRate=%d%%]",
+                mCache.size(), mCache.maxSize(), hits, mCache.missCount(), hitPercent);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.cache;
+
+import android.content.Context;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ArticlePrefetcher
+ * <p>
+ * 列表停止滚动后，在低优先级线程上把可见及临近的法规预先加载进 {@link ArticleCache}，点击时多数可直接命中。
+ * 每次 {@link #prefetch(List)} 替换之前未完成的请求，{@link #cancel()} 放弃全部；
+ * 已开始的单篇加载会做完，之后的不再进行。命中率用于调整预取深度
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 16:50
+ */
+public final class ArticlePrefetcher {
+
+    /**
+     * thread full parameters
+     * corePoolSize：1
+     * maximumPoolSize：1
+     * keepAliveTime：survival 30 seconds
+     * workQueue：LinkedBlockingQueue
+     * threadFactory：THREAD_PRIORITY_BACKGROUND
+     * handlerPolicy：AbortPolicy
+     */
+    private static final ThreadPoolExecutor PREFETCH_EXECUTOR;
+
+    /**
+     * 记录预取过的路径数，超出后丢弃最早的
+     */
+    private static final int MAX_TRACKED = 64;
+
+    private static volatile ArticlePrefetcher sInstance;
+
+    static {
+        PREFETCH_EXECUTOR = new ThreadPoolExecutor(1,
+                1
+                , 30
+                , TimeUnit.SECONDS
+                , new LinkedBlockingQueue<>()
+                , runnable -> new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, "article-prefetch")
+                , new ThreadPoolExecutor.AbortPolicy());
+        PREFETCH_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final ArticleCache mCache;
+    private final Executor mExecutor;
+    /**
+     * 每次请求加一，旧请求发现代数变化后停止
+     */
+    private final AtomicInteger mGeneration = new AtomicInteger();
+    private final Map<String, Boolean> mPrefetched = new LinkedHashMap<String, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_TRACKED;
+        }
+    };
+
+    private final AtomicInteger mPrefetchCount = new AtomicInteger();
+    private final AtomicInteger mCancelCount = new AtomicInteger();
+    private final AtomicInteger mHitCount = new AtomicInteger();
+    private final AtomicInteger mMissCount = new AtomicInteger();
+
+    public static ArticlePrefetcher getInstance(Context context) {
+        if (sInstance == null) {
+            synchronized (ArticlePrefetcher.class) {
+                if (sInstance == null) {
+                    sInstance = new ArticlePrefetcher(ArticleCache.getInstance(context), PREFETCH_EXECUTOR);
+                }
+            }
+        }
+        return sInstance;
+    }
+
+    ArticlePrefetcher(ArticleCache cache, Executor executor) {
+        mCache = cache;
+        mExecutor = executor;
+    }
+
+    /**
+     * 按顺序预取，替换之前尚未完成的请求
+     *
+     * @param paths assets 相对路径，靠前的优先
+     */
+    public void prefetch(@NonNull List<String> paths) {
+        int generation = mGeneration.incrementAndGet();
+        if (paths.isEmpty()) {
+            return;
+        }
+        List<String> pending = new ArrayList<>(paths);
+        mExecutor.execute(() -> {
+            for (String path : pending) {
+                if (mGeneration.get() != generation) {
+                    mCancelCount.incrementAndGet();
+                    return;
+                }
+                if (mCache.prefetch(path)) {
+                    mPrefetchCount.incrementAndGet();
+                    synchronized (mPrefetched) {
+                        mPrefetched.put(path, Boolean.TRUE);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 放弃尚未开始的预取，如列表再次滚动、切换分类
+     */
+    public void cancel() {
+        mGeneration.incrementAndGet();
+    }
+
+    /**
+     * 打开文章时调用，统计是否由预取提前加载
+     */
+    public void recordOpen(@NonNull String path) {
+        boolean prefetched;
+        synchronized (mPrefetched) {
+            prefetched = mPrefetched.remove(path) != null;
+        }
+        if (prefetched && mCache.contains(path)) {
+            mHitCount.incrementAndGet();
+        } else {
+            mMissCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 预取加载的文章数
+     */
+    public int getPrefetchCount() {
+        return mPrefetchCount.get();
+    }
+
+    /**
+     * 被新请求或 {@link #cancel()} 中断的预取批次
+     */
+    public int getCancelCount() {
+        return mCancelCount.get();
+    }
+
+    /**
+     * 打开时已由预取加载的次数
+     */
+    public int getHitCount() {
+        return mHitCount.get();
+    }
+
+    public int getMissCount() {
+        return mMissCount.get();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        int hits = mHitCount.get();
+        int opens = hits + mMissCount.get();
+        int prefetches = mPrefetchCount.get();
+        int hitPercent = opens != 0 ? (100 * hits / opens) : 0;
+        int usefulPercent = prefetches != 0 ? (100 * hits / prefetches) : 0;
+        return String.format("ArticlePrefetcher[prefetches=%d,cancels=%d,hits=%d,misses=%d,hitRate=%d%%,useful=%d%%]",
+                prefetches, mCancelCount.get(), hits, mMissCount.get(), hitPercent, usefulPercent);
+    }
+}
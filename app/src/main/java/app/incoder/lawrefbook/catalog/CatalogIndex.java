@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CatalogIndex
+ * <p>
+ * 由 {@link CatalogManifest} 建立的不可变分类索引，分类与法规都分配从 0 开始的稠密 id，字段存放在基本类型数组中：
+ * <ul>
+ *     <li>分类：先是全部第一层分类，之后逐层按父分类顺序依次排列各自的子分类，同一分类的子分类 id 连续</li>
+ *     <li>法规：按所属分类依次排列，每个分类的法规 id 是一段连续区间</li>
+ * </ul>
+ * 取代以 String.hashCode 作为分类 id 的做法，不会因哈希冲突把法规归错分类。
+ * 每一级目录都是分类，层数不限，法规归属直接包含它的目录；只收录 {@link #SUPPORTED_TYPES} 中的文件
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 18:20
+ */
+public final class CatalogIndex {
+
+    public static final int NO_ID = -1;
+
+    /**
+     * 列表中展示的文件类型
+     */
+    public static final Set<String> SUPPORTED_TYPES = new HashSet<>(Arrays.asList("docx", "doc", "wps", "md"));
+
+    private final int mTopCount;
+    private final String[] mCategoryName;
+    private final String[] mCategoryFolder;
+    private final int[] mCategoryParent;
+    /**
+     * 所在的第一层分类，第一层分类为自身
+     */
+    private final int[] mCategoryTop;
+    /**
+     * 子分类 id 区间 [mSubStart[c], mSubEnd[c])
+     */
+    private final int[] mSubStart;
+    private final int[] mSubEnd;
+    /**
+     * 分类下直接包含的法规 id 区间 [mLawStart[c], mLawEnd[c])
+     */
+    private final int[] mLawStart;
+    private final int[] mLawEnd;
+    private final Map<String, Integer> mCategoryByFolder;
+
+    private final String[] mLawFile;
+    private final String[] mLawTitle;
+    private final String[] mLawPath;
+    private final long[] mLawSize;
+    private final int[] mLawCategory;
+    private final Map<String, Integer> mLawByPath;
+
+    /**
+     * 第一层分类连同子分类的全部法规，与原先按 order 稳定排序的结果一致：
+     * 先是父分类直接包含的法规，之后各子分类的第 1 条、第 2 条……交错排列，子分类的法规含其下各级目录，按先序排列
+     */
+    private final int[][] mTreeLaws;
+
+    private CatalogIndex(List<CatalogManifest.Folder> categories, int topCount, int[] parents, int[] subStart, int[] subEnd) {
+        int count = categories.size();
+        mTopCount = topCount;
+        mCategoryName = new String[count];
+        mCategoryFolder = new String[count];
+        mCategoryParent = parents;
+        mCategoryTop = new int[count];
+        mSubStart = subStart;
+        mSubEnd = subEnd;
+        mLawStart = new int[count];
+        mLawEnd = new int[count];
+        mCategoryByFolder = new HashMap<>(count * 2);
+
+        int lawCount = 0;
+        for (CatalogManifest.Folder folder : categories) {
+            for (CatalogManifest.LawFile file : folder.getFiles()) {
+                if (SUPPORTED_TYPES.contains(file.getType())) {
+                    lawCount++;
+                }
+            }
+        }
+        mLawFile = new String[lawCount];
+        mLawTitle = new String[lawCount];
+        mLawPath = new String[lawCount];
+        mLawSize = new long[lawCount];
+        mLawCategory = new int[lawCount];
+        mLawByPath = new HashMap<>(lawCount * 2);
+
+        int law = 0;
+        for (int c = 0; c < count; c++) {
+            CatalogManifest.Folder folder = categories.get(c);
+            mCategoryName[c] = folder.getName();
+            mCategoryFolder[c] = folder.getPath();
+            mCategoryByFolder.put(folder.getPath(), c);
+            // 父分类的 id 总是更小
+            mCategoryTop[c] = parents[c] == NO_ID ? c : mCategoryTop[parents[c]];
+            mLawStart[c] = law;
+            for (CatalogManifest.LawFile file : folder.getFiles()) {
+                if (!SUPPORTED_TYPES.contains(file.getType())) {
+                    continue;
+                }
+                mLawFile[law] = file.getName();
+                mLawTitle[law] = file.getTitle();
+                mLawPath[law] = folder.getPath() + "/" + file.getName();
+                mLawSize[law] = file.getSize();
+                mLawCategory[law] = c;
+                mLawByPath.put(mLawPath[law], law);
+                law++;
+            }
+            mLawEnd[c] = law;
+        }
+
+        mTreeLaws = new int[topCount][];
+        for (int top = 0; top < topCount; top++) {
+            mTreeLaws[top] = treeLaws(top);
+        }
+    }
+
+    /**
+     * 分类及其各级子分类的法规，先序排列
+     */
+    private void addSubtreeLaws(int category, List<Integer> laws) {
+        for (int law = mLawStart[category]; law < mLawEnd[category]; law++) {
+            laws.add(law);
+        }
+        for (int sub = mSubStart[category]; sub < mSubEnd[category]; sub++) {
+            addSubtreeLaws(sub, laws);
+        }
+    }
+
+    private int[] treeLaws(int top) {
+        int subCount = mSubEnd[top] - mSubStart[top];
+        List<List<Integer>> subtrees = new ArrayList<>(subCount);
+        int size = mLawEnd[top] - mLawStart[top];
+        int longest = 0;
+        for (int sub = mSubStart[top]; sub < mSubEnd[top]; sub++) {
+            List<Integer> subtree = new ArrayList<>();
+            addSubtreeLaws(sub, subtree);
+            subtrees.add(subtree);
+            size += subtree.size();
+            longest = Math.max(longest, subtree.size());
+        }
+        int[] laws = new int[size];
+        int n = 0;
+        for (int law = mLawStart[top]; law < mLawEnd[top]; law++) {
+            laws[n++] = law;
+        }
+        for (int k = 0; k < longest; k++) {
+            for (List<Integer> subtree : subtrees) {
+                if (k < subtree.size()) {
+                    laws[n++] = subtree.get(k);
+                }
+            }
+        }
+        return laws;
+    }
+
+    public static CatalogIndex of(CatalogManifest manifest) {
+        List<CatalogManifest.Folder> categories = new ArrayList<>();
+        for (CatalogManifest.Folder folder : manifest.getRoot().getFolders()) {
+            // 跳过带扩展名的目录
+            if (!folder.getName().contains(".")) {
+                categories.add(folder);
+            }
+        }
+        int topCount = categories.size();
+        int count = topCount;
+        for (int top = 0; top < topCount; top++) {
+            count += countFolders(categories.get(top));
+        }
+        int[] parents = new int[count];
+        Arrays.fill(parents, 0, topCount, NO_ID);
+        int[] subStart = new int[count];
+        int[] subEnd = new int[count];
+        // 逐层展开，同一分类的子分类 id 连续
+        for (int c = 0; c < categories.size(); c++) {
+            subStart[c] = categories.size();
+            for (CatalogManifest.Folder folder : categories.get(c).getFolders()) {
+                parents[categories.size()] = c;
+                categories.add(folder);
+            }
+            subEnd[c] = categories.size();
+        }
+        return new CatalogIndex(categories, topCount, parents, subStart, subEnd);
+    }
+
+    private static int countFolders(CatalogManifest.Folder folder) {
+        int count = folder.getFolders().size();
+        for (CatalogManifest.Folder child : folder.getFolders()) {
+            count += countFolders(child);
+        }
+        return count;
+    }
+
+    /**
+     * 第一层分类数，其 id 为 [0, getTopCategoryCount())
+     */
+    public int getTopCategoryCount() {
+        return mTopCount;
+    }
+
+    public int getCategoryCount() {
+        return mCategoryName.length;
+    }
+
+    public String getCategoryName(int category) {
+        return mCategoryName[category];
+    }
+
+    /**
+     * 分类目录的 assets 路径，如 Laws/刑法
+     */
+    public String getCategoryFolder(int category) {
+        return mCategoryFolder[category];
+    }
+
+    /**
+     * 父分类 id，第一层分类为 {@link #NO_ID}
+     */
+    public int getCategoryParent(int category) {
+        return mCategoryParent[category];
+    }
+
+    /**
+     * 所在的第一层分类，第一层分类返回自身
+     */
+    public int getTopCategory(int category) {
+        return mCategoryTop[category];
+    }
+
+    /**
+     * {@code category} 是否为 {@code ancestor} 本身或其下任意一级子分类
+     */
+    public boolean isWithin(int category, int ancestor) {
+        for (int c = category; c != NO_ID; c = mCategoryParent[c]) {
+            if (c == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按目录路径查找分类
+     *
+     * @return 找不到时为 {@link #NO_ID}
+     */
+    public int findCategory(String folder) {
+        Integer category = mCategoryByFolder.get(folder);
+        return category != null ? category : NO_ID;
+    }
+
+    /**
+     * 子分类 id 区间的起点（含）
+     */
+    public int getSubCategoryStart(int category) {
+        return mSubStart[category];
+    }
+
+    /**
+     * 子分类 id 区间的终点（不含）
+     */
+    public int getSubCategoryEnd(int category) {
+        return mSubEnd[category];
+    }
+
+    public int getLawCount() {
+        return mLawFile.length;
+    }
+
+    /**
+     * 分类直接包含的法规 id 区间的起点（含）
+     */
+    public int getLawStart(int category) {
+        return mLawStart[category];
+    }
+
+    /**
+     * 分类直接包含的法规 id 区间的终点（不含）
+     */
+    public int getLawEnd(int category) {
+        return mLawEnd[category];
+    }
+
+    /**
+     * 第一层分类连同其子分类的全部法规 id，调用方不得修改
+     */
+    public int[] getTreeLaws(int topCategory) {
+        return mTreeLaws[topCategory];
+    }
+
+    /**
+     * 含扩展名的文件名
+     */
+    public String getLawFile(int law) {
+        return mLawFile[law];
+    }
+
+    /**
+     * 去掉扩展名的文件名
+     */
+    public String getLawTitle(int law) {
+        return mLawTitle[law];
+    }
+
+    /**
+     * 法规文件的 assets 路径
+     */
+    public String getLawPath(int law) {
+        return mLawPath[law];
+    }
+
+    /**
+     * 按 assets 路径查找法规
+     *
+     * @return 找不到时为 {@link #NO_ID}
+     */
+    public int findLaw(String path) {
+        Integer law = mLawByPath.get(path);
+        return law != null ? law : NO_ID;
+    }
+
+    /**
+     * 字节数，未知时为 -1
+     */
+    public long getLawSize(int law) {
+        return mLawSize[law];
+    }
+
+    public int getLawCategory(int law) {
+        return mLawCategory[law];
+    }
+
+    /**
+     * 法规在所属分类中的序号
+     */
+    public int getLawOrder(int law) {
+        return law - mLawStart[mLawCategory[law]];
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.catalog;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CatalogManifest
+ * <p>
+ * assets/Laws 目录树的清单，构建期遍历一次写出，运行期读取后直接回答分类、子分类与法规列表的查询，
+ * 不再逐层调用 {@code AssetManager.list}。目录与文件均已按 {@link NumberPrefixComparator} 排好序，
+ * 存储顺序即 order：
+ * <pre>
+ * int    magic 'LRBC'
+ * short  version
+ * folder := { string name, int fileCount, { string name, long size } * fileCount, int folderCount, folder * folderCount }
+ * string := { short byteLength, byte[] utf8 }
+ * </pre>
+ * 文件类型取自文件名的扩展名
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 17:30
+ */
+public final class CatalogManifest {
+
+    /**
+     * 清单在 assets 中的路径
+     */
+    public static final String ASSET_PATH = "compiled/catalog.bin";
+    /**
+     * 法规根目录
+     */
+    public static final String ROOT = "Laws";
+
+    private static final int MAGIC = 0x4C524243;
+    private static final short VERSION = 1;
+
+    private final Folder mRoot;
+    private final Map<String, Folder> mFolders = new HashMap<>();
+
+    /**
+     * 目录树的来源，构建期为文件系统，开发期回退为 AssetManager
+     */
+    public interface Source {
+        /**
+         * 目录下的条目名，文件或不存在时为空数组
+         */
+        String[] list(String path) throws IOException;
+
+        /**
+         * 文件字节数，未知时为 -1
+         */
+        long size(String path);
+    }
+
+    private CatalogManifest(Folder root) {
+        mRoot = root;
+        index(root);
+    }
+
+    private void index(Folder folder) {
+        mFolders.put(folder.mPath, folder);
+        for (Folder child : folder.mFolders) {
+            index(child);
+        }
+    }
+
+    /**
+     * 没有任何法规的清单
+     */
+    public static CatalogManifest empty() {
+        return new CatalogManifest(new Folder(ROOT, ROOT, new ArrayList<>(), new ArrayList<>()));
+    }
+
+    /**
+     * 遍历 {@link #ROOT} 建立清单，空目录不计入，与 APK 中的 assets 一致
+     */
+    public static CatalogManifest scan(Source source) throws IOException {
+        return new CatalogManifest(scan(source, ROOT, ROOT));
+    }
+
+    private static Folder scan(Source source, String name, String path) throws IOException {
+        String[] names = source.list(path);
+        NumberPrefixComparator.sort(names);
+        List<LawFile> files = new ArrayList<>();
+        List<Folder> folders = new ArrayList<>();
+        for (String child : names) {
+            String childPath = path + "/" + child;
+            String[] grandChildren = source.list(childPath);
+            if (grandChildren.length > 0) {
+                folders.add(scan(source, child, childPath));
+            } else {
+                files.add(new LawFile(child, source.size(childPath)));
+            }
+        }
+        return new Folder(name, path, files, folders);
+    }
+
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        write(mRoot, out);
+    }
+
+    private static void write(Folder folder, DataOutput out) throws IOException {
+        writeString(folder.mName, out);
+        out.writeInt(folder.mFiles.size());
+        for (LawFile file : folder.mFiles) {
+            writeString(file.mName, out);
+            out.writeLong(file.mSize);
+        }
+        out.writeInt(folder.mFolders.size());
+        for (Folder child : folder.mFolders) {
+            write(child, out);
+        }
+    }
+
+    private static void writeString(String string, DataOutput out) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Name too long: " + string);
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * 从 {@code buffer} 的当前 position 读取，通常是 mmap 的 assets
+     */
+    public static CatalogManifest read(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (in.remaining() < 4 || in.getInt() != MAGIC) {
+                throw new IOException("Not a catalog manifest");
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported catalog manifest version " + version);
+            }
+            String name = readString(in);
+            return new CatalogManifest(read(in, name, name));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated catalog manifest", e);
+        }
+    }
+
+    private static Folder read(ByteBuffer in, String name, String path) {
+        int fileCount = in.getInt();
+        List<LawFile> files = new ArrayList<>(Math.min(fileCount, in.remaining()));
+        for (int i = 0; i < fileCount; i++) {
+            files.add(new LawFile(readString(in), in.getLong()));
+        }
+        int folderCount = in.getInt();
+        List<Folder> folders = new ArrayList<>(Math.min(folderCount, in.remaining()));
+        for (int i = 0; i < folderCount; i++) {
+            String childName = readString(in);
+            folders.add(read(in, childName, path + "/" + childName));
+        }
+        return new Folder(name, path, files, folders);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@link #ROOT} 目录
+     */
+    public Folder getRoot() {
+        return mRoot;
+    }
+
+    /**
+     * 按 assets 路径查找目录，如 Laws/刑法
+     *
+     * @return 不存在时为 null
+     */
+    public Folder getFolder(String path) {
+        return mFolders.get(path);
+    }
+
+    /**
+     * 目录
+     */
+    public static final class Folder {
+
+        private final String mName;
+        private final String mPath;
+        private final List<LawFile> mFiles;
+        private final List<Folder> mFolders;
+        private final int mHeight;
+
+        Folder(String name, String path, List<LawFile> files, List<Folder> folders) {
+            mName = name;
+            mPath = path;
+            mFiles = Collections.unmodifiableList(files);
+            mFolders = Collections.unmodifiableList(folders);
+            int height = 0;
+            for (Folder folder : folders) {
+                height = Math.max(height, folder.mHeight + 1);
+            }
+            mHeight = height;
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        /**
+         * assets 相对路径
+         */
+        public String getPath() {
+            return mPath;
+        }
+
+        /**
+         * 直接包含的文件，已排序
+         */
+        public List<LawFile> getFiles() {
+            return mFiles;
+        }
+
+        /**
+         * 直接包含的子目录，已排序
+         */
+        public List<Folder> getFolders() {
+            return mFolders;
+        }
+
+        /**
+         * 子目录的嵌套层数，没有子目录为 0
+         */
+        public int getHeight() {
+            return mHeight;
+        }
+    }
+
+    /**
+     * 文件
+     */
+    public static final class LawFile {
+
+        private final String mName;
+        private final long mSize;
+
+        LawFile(String name, long size) {
+            mName = name;
+            mSize = size;
+        }
+
+        /**
+         * 含扩展名的文件名
+         */
+        public String getName() {
+            return mName;
+        }
+
+        /**
+         * 去掉扩展名的文件名
+         */
+        public String getTitle() {
+            int dot = mName.lastIndexOf('.');
+            return dot == -1 ? mName : mName.substring(0, dot);
+        }
+
+        /**
+         * 文件类型，即小写的扩展名，没有扩展名时为空串
+         */
+        public String getType() {
+            int dot = mName.lastIndexOf('.');
+            return dot == -1 ? "" : mName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * 字节数，未知时为 -1
+         */
+        public long getSize() {
+            return mSize;
+        }
+    }
+}
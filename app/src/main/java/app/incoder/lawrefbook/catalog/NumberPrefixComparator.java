@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import app.incoder.lawrefbook.parser.ChineseNumerals;
+
+/**
+ * NumberPrefixComparator
+ * <p>
+ * 按照文件名/文件夹名前面的序号进行排序的比较器
+ * 支持中文数字（一、二十一、一百零五...）、阿拉伯数字（1、2、3...）及 "第一百编" 等写法，
+ * 有序号的排在前面，序号相同或都没有时按字典序。
+ * 序号由 {@link #collationKey(String)} 逐字符解析为 long，{@link #sort(String[])} 每个名称只解析一次
+ *
+ * @author : Jerry xu
+ * @since : 2022/6/5 18:16
+ */
+public final class NumberPrefixComparator implements Comparator<String> {
+
+    /**
+     * 没有序号的名称的排序键，排在所有序号之后
+     */
+    public static final long NO_NUMBER = Long.MAX_VALUE;
+
+    @Override
+    public int compare(String s1, String s2) {
+        return compare(collationKey(s1), s1, collationKey(s2), s2);
+    }
+
+    private static int compare(long key1, String s1, long key2, String s2) {
+        int result = Long.compare(key1, key2);
+        // 如果数字相同或都没有数字，按字典序排序
+        return result != 0 ? result : s1.compareTo(s2);
+    }
+
+    /**
+     * 按序号排序，每个名称只计算一次排序键
+     */
+    public static void sort(String[] names) {
+        Keyed[] keyed = new Keyed[names.length];
+        for (int i = 0; i < names.length; i++) {
+            keyed[i] = new Keyed(collationKey(names[i]), names[i]);
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < names.length; i++) {
+            names[i] = keyed[i].mName;
+        }
+    }
+
+    /**
+     * 名称开头的序号，没有时为 {@link #NO_NUMBER}
+     * <p>
+     * 支持格式：一、二、三... 或 1. 2. 3... 或 1、2、3... 或 第一百编、第3章
+     */
+    public static long collationKey(String name) {
+        if (name == null || name.isEmpty()) {
+            return NO_NUMBER;
+        }
+        int start = 0;
+        boolean ordinal = name.charAt(0) == '第';
+        if (ordinal) {
+            start = 1;
+        }
+        int end = start;
+        while (end < name.length() && isNumeral(name.charAt(end))) {
+            end++;
+        }
+        if (end == start || end == name.length()) {
+            return NO_NUMBER;
+        }
+        // "第" 之后可以是任意单位（编、章、节...），否则序号后须有分隔符
+        if (!ordinal && !isDelimiter(name.charAt(end))) {
+            return NO_NUMBER;
+        }
+        int number = ChineseNumerals.parse(name, start, end);
+        return number == ChineseNumerals.INVALID ? NO_NUMBER : number;
+    }
+
+    private static boolean isNumeral(char c) {
+        return ChineseNumerals.digit(c) >= 0 || c == '十' || c == '百' || c == '千' || c == '万';
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == '、' || c == '.' || c == '．' || Character.isWhitespace(c);
+    }
+
+    private static final class Keyed implements Comparable<Keyed> {
+
+        private final long mKey;
+        private final String mName;
+
+        Keyed(long key, String name) {
+            mKey = key;
+            mName = name;
+        }
+
+        @Override
+        public int compareTo(Keyed other) {
+            return compare(mKey, mName, other.mKey, other.mName);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * TitleIndex
+ * <p>
+ * 全部分类法规标题的内存索引，由 {@link CatalogIndex} 建立一次。规范化后的标题以 {@link #SEPARATOR} 连接成一个字符数组，
+ * 后缀数组按各后缀到分隔符为止的内容排序，查询二分得到以查询串开头的后缀区间，即包含查询串的全部标题；
+ * 后缀恰好从标题开头起的为前缀匹配。规范化时全角转半角、英文转小写并去掉空白
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 22:40
+ */
+public final class TitleIndex {
+
+    private static final char SEPARATOR = '\0';
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * 规范化后的标题，每个标题后跟一个 {@link #SEPARATOR}
+     */
+    private final char[] mText;
+    /**
+     * 下标为法规 id，值为标题在 mText 中的起点，升序
+     */
+    private final int[] mTitleStart;
+    /**
+     * 后缀起点，不含分隔符位置
+     */
+    private final int[] mSuffixes;
+    /**
+     * 下标为法规 id，值为所属的第一层分类
+     */
+    private final int[] mTopCategory;
+
+    private TitleIndex(char[] text, int[] titleStart, int[] suffixes, int[] topCategory) {
+        mText = text;
+        mTitleStart = titleStart;
+        mSuffixes = suffixes;
+        mTopCategory = topCategory;
+    }
+
+    /**
+     * 在后台线程调用
+     */
+    public static TitleIndex of(CatalogIndex index) {
+        int lawCount = index.getLawCount();
+        int[] titleStart = new int[lawCount];
+        int[] topCategory = new int[lawCount];
+        StringBuilder text = new StringBuilder(lawCount * 16);
+        for (int law = 0; law < lawCount; law++) {
+            titleStart[law] = text.length();
+            normalize(index.getLawTitle(law), text);
+            text.append(SEPARATOR);
+            topCategory[law] = index.getTopCategory(index.getLawCategory(law));
+        }
+        char[] chars = new char[text.length()];
+        text.getChars(0, chars.length, chars, 0);
+
+        // 先按前两个字符连同位置打包成非负 long 排序，只有前两个字符相同的一组再逐字比较
+        long[] keys = new long[chars.length - lawCount];
+        int n = 0;
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] != SEPARATOR) {
+                keys[n++] = (long) chars[i] << 47 | (long) chars[i + 1] << 31 | i;
+            }
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = (int) (keys[i] & Integer.MAX_VALUE);
+        }
+        for (int from = 0, to; from < n; from = to) {
+            long bigram = keys[from] >>> 31;
+            to = from + 1;
+            while (to < n && keys[to] >>> 31 == bigram) {
+                to++;
+            }
+            // 第二个字符为分隔符时内容已相同，保持位置顺序
+            if (to - from > 1 && (bigram & 0xFFFF) != SEPARATOR) {
+                sortSuffixes(chars, sorted, from, to);
+            }
+        }
+        return new TitleIndex(chars, titleStart, sorted, topCategory);
+    }
+
+    private static void sortSuffixes(char[] text, int[] suffixes, int from, int to) {
+        Integer[] group = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            group[i - from] = suffixes[i];
+        }
+        Arrays.sort(group, (a, b) -> compareSuffixes(text, a, b));
+        for (int i = from; i < to; i++) {
+            suffixes[i] = group[i - from];
+        }
+    }
+
+    /**
+     * 逐字比较到分隔符为止，内容相同时按位置排序
+     */
+    private static int compareSuffixes(char[] text, int a, int b) {
+        int i = a;
+        int j = b;
+        while (text[i] == text[j] && text[i] != SEPARATOR) {
+            i++;
+            j++;
+        }
+        if (text[i] != text[j]) {
+            return text[i] - text[j];
+        }
+        return Integer.compare(a, b);
+    }
+
+    /**
+     * 全角转半角、英文转小写并去掉空白，查询与标题使用同一规则
+     */
+    static void normalize(CharSequence text, StringBuilder out) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '！' && c <= '～') {
+                c = (char) (c - 0xFEE0);
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c) || c == SEPARATOR) {
+                continue;
+            }
+            out.append(Character.toLowerCase(c));
+        }
+    }
+
+    public int getLawCount() {
+        return mTitleStart.length;
+    }
+
+    /**
+     * 法规所属的第一层分类，子分类及更深目录中的法规归入其第一层分类
+     */
+    public int getTopCategory(int law) {
+        return mTopCategory[law];
+    }
+
+    /**
+     * 标题包含 {@code query} 的法规 id，先是标题以其开头的，再是其余的，两组内各按法规 id 即目录顺序
+     *
+     * @return 查询为空时为空数组
+     */
+    public int[] find(CharSequence query) {
+        StringBuilder normalized = new StringBuilder(query.length());
+        normalize(query, normalized);
+        if (normalized.length() == 0) {
+            return EMPTY;
+        }
+        char[] key = new char[normalized.length()];
+        normalized.getChars(0, key.length, key, 0);
+
+        int from = lowerBound(key);
+        int to = upperBound(key, from);
+        if (from == to) {
+            return EMPTY;
+        }
+        BitSet prefix = new BitSet(getLawCount());
+        BitSet contains = new BitSet(getLawCount());
+        for (int i = from; i < to; i++) {
+            int position = mSuffixes[i];
+            int law = lawAt(position);
+            if (position == mTitleStart[law]) {
+                prefix.set(law);
+            } else {
+                contains.set(law);
+            }
+        }
+        contains.andNot(prefix);
+        int[] laws = new int[prefix.cardinality() + contains.cardinality()];
+        int n = 0;
+        for (int law = prefix.nextSetBit(0); law >= 0; law = prefix.nextSetBit(law + 1)) {
+            laws[n++] = law;
+        }
+        for (int law = contains.nextSetBit(0); law >= 0; law = contains.nextSetBit(law + 1)) {
+            laws[n++] = law;
+        }
+        return laws;
+    }
+
+    /**
+     * 第一个不小于 key 的后缀
+     */
+    private int lowerBound(char[] key) {
+        int low = 0;
+        int high = mSuffixes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mSuffixes[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 第一个不以 key 开头且大于 key 的后缀
+     */
+    private int upperBound(char[] key, int from) {
+        int low = from;
+        int high = mSuffixes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mSuffixes[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 后缀与 key 比较，后缀以 key 开头时为 0。分隔符小于任何规范化后的字符，比较不会越过标题末尾
+     */
+    private int compare(int position, char[] key) {
+        for (int i = 0; i < key.length; i++) {
+            char c = mText[position + i];
+            if (c != key[i]) {
+                return c - key[i];
+            }
+        }
+        return 0;
+    }
+
+    private int lawAt(int position) {
+        int i = Arrays.binarySearch(mTitleStart, position);
+        return i >= 0 ? i : -i - 2;
+    }
+}
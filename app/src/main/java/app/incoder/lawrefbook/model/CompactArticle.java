@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.model;
+
+import java.nio.CharBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompactArticle
+ * <p>
+ * {@link Article} 的列式只读表示：所有条目正文依次存放在同一个 char[] 中，以 offset 数组定位，
+ * 类型与目录字段均为基本类型数组。相比每条一个 {@link Content} 与 String，省去了对象头、引用与
+ * String 的额外开销，便于同时缓存多部法规。{@link #getRule(int)} 返回共享缓冲的视图，不会创建 String
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 15:20
+ */
+public final class CompactArticle {
+
+    private static final CompactArticle EMPTY = of(Collections.emptyList());
+
+    private final String mTitle;
+    private final String mWordsCount;
+    private final List<String> mCorrectHistory;
+
+    /**
+     * 正文缓冲，条目 i 位于 [mOffsets[i], mOffsets[i + 1])，其后是无法复用正文的目录标题
+     */
+    private final char[] mText;
+    private final int[] mOffsets;
+    private final byte[] mTypes;
+
+    private final int[] mTocId;
+    private final int[] mTocParentId;
+    private final int[] mTocPosition;
+    private final int[] mTocLevel;
+    private final int[] mTocTitleStart;
+    private final int[] mTocTitleLength;
+
+    private CompactArticle(Article article, List<Content> contents, List<Toc> tocList) {
+        int length = 0;
+        for (Content content : contents) {
+            length += ruleLength(content);
+        }
+        // 标题通常就是对应标题条目的正文（同一 String 实例），直接指向该条目
+        Map<String, Integer> headings = new IdentityHashMap<>();
+        for (int i = 0; i < contents.size(); i++) {
+            if (contents.get(i).getType() != Type.CONTENT_TYPE.getCode() && contents.get(i).getRule() != null) {
+                headings.put(contents.get(i).getRule(), i);
+            }
+        }
+        for (Toc toc : tocList) {
+            if (toc.getTitle() != null && !headings.containsKey(toc.getTitle())) {
+                length += toc.getTitle().length();
+            }
+        }
+
+        mText = new char[length];
+        mOffsets = new int[contents.size() + 1];
+        mTypes = new byte[contents.size()];
+        int offset = 0;
+        for (int i = 0; i < contents.size(); i++) {
+            Content content = contents.get(i);
+            mOffsets[i] = offset;
+            mTypes[i] = (byte) content.getType();
+            if (content.getRule() != null) {
+                content.getRule().getChars(0, content.getRule().length(), mText, offset);
+                offset += content.getRule().length();
+            }
+        }
+        mOffsets[contents.size()] = offset;
+
+        int tocCount = tocList.size();
+        mTocId = new int[tocCount];
+        mTocParentId = new int[tocCount];
+        mTocPosition = new int[tocCount];
+        mTocLevel = new int[tocCount];
+        mTocTitleStart = new int[tocCount];
+        mTocTitleLength = new int[tocCount];
+        for (int i = 0; i < tocCount; i++) {
+            Toc toc = tocList.get(i);
+            mTocId[i] = toc.getId();
+            mTocParentId[i] = toc.getParentId();
+            mTocPosition[i] = toc.getPosition();
+            mTocLevel[i] = toc.getTitleLevel();
+            String title = toc.getTitle();
+            if (title == null) {
+                mTocTitleStart[i] = offset;
+                continue;
+            }
+            Integer heading = headings.get(title);
+            if (heading != null) {
+                mTocTitleStart[i] = mOffsets[heading];
+            } else {
+                mTocTitleStart[i] = offset;
+                title.getChars(0, title.length(), mText, offset);
+                offset += title.length();
+            }
+            mTocTitleLength[i] = title.length();
+        }
+
+        Extended info = article != null ? article.getInfo() : null;
+        mTitle = article != null ? article.getTitle() : null;
+        mWordsCount = info != null && info.getWordsCount() != null ? info.getWordsCount() : "0";
+        mCorrectHistory = info != null && info.getCorrectHistory() != null
+                ? Collections.unmodifiableList(info.getCorrectHistory()) : Collections.emptyList();
+    }
+
+    public static CompactArticle of(Article article) {
+        return new CompactArticle(article, article.getContents(), article.getToc());
+    }
+
+    /**
+     * 只有条目、没有目录与附加信息，用于解析过程中的部分结果
+     */
+    public static CompactArticle of(List<Content> contents) {
+        return new CompactArticle(null, contents, Collections.emptyList());
+    }
+
+    public static CompactArticle empty() {
+        return EMPTY;
+    }
+
+    private static int ruleLength(Content content) {
+        return content.getRule() != null ? content.getRule().length() : 0;
+    }
+
+    public String getTitle() {
+        return mTitle;
+    }
+
+    public String getWordsCount() {
+        return mWordsCount;
+    }
+
+    public List<String> getCorrectHistory() {
+        return mCorrectHistory;
+    }
+
+    /**
+     * 条目数
+     */
+    public int size() {
+        return mTypes.length;
+    }
+
+    /**
+     * {@link Type}
+     */
+    public int getType(int index) {
+        return mTypes[index];
+    }
+
+    /**
+     * 共享的正文缓冲，配合 {@link #getStart(int)}、{@link #getLength(int)} 使用，调用方不得修改
+     */
+    public char[] getText() {
+        return mText;
+    }
+
+    public int getStart(int index) {
+        return mOffsets[index];
+    }
+
+    public int getLength(int index) {
+        return mOffsets[index + 1] - mOffsets[index];
+    }
+
+    /**
+     * 条目正文的只读视图，不复制
+     */
+    public CharSequence getRule(int index) {
+        return CharBuffer.wrap(mText, mOffsets[index], getLength(index)).asReadOnlyBuffer();
+    }
+
+    /**
+     * 条目正文的 String 副本，用于复制、分享、收藏等需要独立字符串的场景
+     */
+    public String getRuleString(int index) {
+        return new String(mText, mOffsets[index], getLength(index));
+    }
+
+    /**
+     * 目录条目数
+     */
+    public int getTocCount() {
+        return mTocId.length;
+    }
+
+    public int getTocId(int index) {
+        return mTocId[index];
+    }
+
+    public int getTocParentId(int index) {
+        return mTocParentId[index];
+    }
+
+    public int getTocPosition(int index) {
+        return mTocPosition[index];
+    }
+
+    public int getTocLevel(int index) {
+        return mTocLevel[index];
+    }
+
+    public String getTocTitle(int index) {
+        return new String(mText, mTocTitleStart[index], mTocTitleLength[index]);
+    }
+
+    /**
+     * 估算占用的堆内存字节数
+     */
+    public int estimateBytes() {
+        long bytes = 96L
+                + 2L * mText.length
+                + 4L * mOffsets.length
+                + mTypes.length
+                + 4L * 6 * mTocId.length;
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.Extended;
+import app.incoder.lawrefbook.model.Toc;
+
+/**
+ * ArticleCodec
+ * <p>
+ * {@link Article} 的紧凑二进制格式，构建期由 {@link ArticleParser} 预编译，运行期直接读取，跳过 Markdown 解析：
+ * <pre>
+ * int    magic 'LRBA'
+ * short  version
+ * int    wordsCount
+ * int    stringCount, { int byteLength, byte[] utf8 } * stringCount
+ * int    contentCount, byte[] type, int[] ruleIndex
+ * int    tocCount, int[] id, int[] parentId, int[] position, int[] titleLevel, int[] titleIndex
+ * </pre>
+ * 标题在 content 与 toc 中共用字符串表中的同一项
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 10:26
+ */
+public final class ArticleCodec {
+
+    private static final int MAGIC = 0x4C524241;
+    private static final short VERSION = 1;
+    /**
+     * 预编译文件在 assets 中的根目录
+     */
+    private static final String COMPILED_ROOT = "compiled/";
+    private static final String COMPILED_SUFFIX = ".bin";
+
+    private ArticleCodec() {
+    }
+
+    /**
+     * Markdown 资源路径对应的预编译资源路径，如 Laws/刑法/刑法.md -> compiled/Laws/刑法/刑法.md.bin
+     */
+    public static String compiledPath(String path) {
+        return COMPILED_ROOT + path + COMPILED_SUFFIX;
+    }
+
+    public static void write(Article article, DataOutput out) throws IOException {
+        List<Content> contents = article.getContents();
+        List<Toc> tocList = article.getToc();
+        List<String> strings = new ArrayList<>(contents.size());
+        Map<String, Integer> stringIndex = new HashMap<>(contents.size() * 2);
+        int[] ruleIndex = new int[contents.size()];
+        for (int i = 0; i < contents.size(); i++) {
+            ruleIndex[i] = intern(contents.get(i).getRule(), strings, stringIndex);
+        }
+        int[] titleIndex = new int[tocList.size()];
+        for (int i = 0; i < tocList.size(); i++) {
+            titleIndex[i] = intern(tocList.get(i).getTitle(), strings, stringIndex);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(wordsCount(article.getInfo()));
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.writeInt(contents.size());
+        for (Content content : contents) {
+            out.writeByte(content.getType());
+        }
+        for (int index : ruleIndex) {
+            out.writeInt(index);
+        }
+        out.writeInt(tocList.size());
+        for (Toc toc : tocList) {
+            out.writeInt(toc.getId());
+        }
+        for (Toc toc : tocList) {
+            out.writeInt(toc.getParentId());
+        }
+        for (Toc toc : tocList) {
+            out.writeInt(toc.getPosition());
+        }
+        for (Toc toc : tocList) {
+            out.writeInt(toc.getTitleLevel());
+        }
+        for (int index : titleIndex) {
+            out.writeInt(index);
+        }
+    }
+
+    /**
+     * 从 {@code buffer} 的当前 position 读取，通常是 mmap 的 assets
+     */
+    public static Article read(ByteBuffer buffer) throws IOException {
+        try {
+            return decode(buffer.duplicate().order(ByteOrder.BIG_ENDIAN));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated compiled article", e);
+        }
+    }
+
+    /**
+     * 只取出第 {@code position} 条 content 的文字，不解码整篇，也不经过文章缓存，用于搜索结果的摘要
+     *
+     * @return position 越界时为 null
+     */
+    public static String readRule(ByteBuffer buffer, int position) throws IOException {
+        try {
+            ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+            readHeader(in);
+            // wordsCount
+            in.getInt();
+            int stringCount = in.getInt();
+            int stringOffset = in.position();
+            skipStrings(in, stringCount);
+            int contentCount = in.getInt();
+            if (position < 0 || position >= contentCount) {
+                return null;
+            }
+            int index = in.getInt(in.position() + contentCount + position * 4);
+            if (index < 0 || index >= stringCount) {
+                throw new IOException("Corrupt compiled article");
+            }
+            in.position(stringOffset);
+            skipStrings(in, index);
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated compiled article", e);
+        }
+    }
+
+    private static void readHeader(ByteBuffer in) throws IOException {
+        if (in.remaining() < 4 || in.getInt() != MAGIC) {
+            throw new IOException("Not a compiled article");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled article version " + version);
+        }
+    }
+
+    private static void skipStrings(ByteBuffer in, int count) {
+        for (int i = 0; i < count; i++) {
+            int length = in.getInt();
+            in.position(in.position() + length);
+        }
+    }
+
+    private static Article decode(ByteBuffer in) throws IOException {
+        readHeader(in);
+        int wordsCount = in.getInt();
+
+        String[] strings = new String[in.getInt()];
+        byte[] scratch = in.hasArray() ? null : new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = in.getInt();
+            if (scratch == null) {
+                strings[i] = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            } else {
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                in.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+
+        int contentCount = in.getInt();
+        int typeOffset = in.position();
+        in.position(typeOffset + contentCount);
+        List<Content> contents = new ArrayList<>(contentCount);
+        for (int i = 0; i < contentCount; i++) {
+            Content content = new Content();
+            content.setType(in.get(typeOffset + i));
+            content.setRule(strings[in.getInt()]);
+            contents.add(content);
+        }
+
+        int tocCount = in.getInt();
+        List<Toc> tocList = new ArrayList<>(tocCount);
+        for (int i = 0; i < tocCount; i++) {
+            Toc toc = new Toc();
+            toc.setId(in.getInt());
+            tocList.add(toc);
+        }
+        for (Toc toc : tocList) {
+            toc.setParentId(in.getInt());
+        }
+        for (Toc toc : tocList) {
+            toc.setPosition(in.getInt());
+        }
+        for (Toc toc : tocList) {
+            toc.setTitleLevel(in.getInt());
+        }
+        for (Toc toc : tocList) {
+            toc.setTitle(strings[in.getInt()]);
+        }
+
+        Extended extended = new Extended();
+        extended.setWordsCount(String.valueOf(wordsCount));
+        extended.setCorrectHistory(new ArrayList<>());
+        Article article = new Article();
+        article.setContents(contents);
+        article.setToc(tocList);
+        article.setInfo(extended);
+        return article;
+    }
+
+    private static int intern(String string, List<String> strings, Map<String, Integer> stringIndex) {
+        Integer index = stringIndex.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndex.put(string, index);
+        }
+        return index;
+    }
+
+    private static int wordsCount(Extended info) {
+        if (info == null || info.getWordsCount() == null) {
+            return 0;
+        }
+        return Integer.parseInt(info.getWordsCount());
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import app.incoder.lawrefbook.model.CompactArticle;
+import app.incoder.lawrefbook.model.Type;
+
+/**
+ * ArticleIndex
+ * <p>
+ * 条号到条目位置的索引。"第N条" 按条号直接下标到数组，O(1) 查找；"第N条之M" 数量很少，
+ * 存放在有序数组中二分查找。同一条号出现多次（如附录引用）时以第一次为准
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 16:05
+ */
+public final class ArticleIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * 条号超过该值时不再直接下标，避免异常数据撑大数组
+     */
+    private static final int MAX_DENSE = 1 << 16;
+    /**
+     * "之M" 的上限，key = number * SUB_LIMIT + sub
+     */
+    private static final int SUB_LIMIT = 100;
+
+    private static final ArticleIndex EMPTY = new ArticleIndex(new int[0], new int[0], new int[0], 0);
+
+    /**
+     * 下标为条号，值为条目位置，缺号为 {@link #NOT_FOUND}
+     */
+    private final int[] mPositions;
+    /**
+     * "之M" 与超出 {@link #MAX_DENSE} 的条号，按 key 升序
+     */
+    private final int[] mSparseKeys;
+    private final int[] mSparsePositions;
+    private final int mSize;
+
+    private ArticleIndex(int[] positions, int[] sparseKeys, int[] sparsePositions, int size) {
+        mPositions = positions;
+        mSparseKeys = sparseKeys;
+        mSparsePositions = sparsePositions;
+        mSize = size;
+    }
+
+    public static ArticleIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 扫描每个正文条目开头的 "第…条"，在后台线程调用
+     */
+    public static ArticleIndex of(CompactArticle article) {
+        int count = 0;
+        int maxNumber = 0;
+        int[] keys = new int[16];
+        int[] positions = new int[16];
+        CharBuffer text = CharBuffer.wrap(article.getText());
+        int[] parsed = new int[2];
+        for (int i = 0; i < article.size(); i++) {
+            if (article.getType(i) != Type.CONTENT_TYPE.getCode()) {
+                continue;
+            }
+            int start = article.getStart(i);
+            if (!parseArticleNumber(text, start, start + article.getLength(i), parsed)) {
+                continue;
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            keys[count] = parsed[0] * SUB_LIMIT + parsed[1];
+            positions[count] = i;
+            count++;
+            if (parsed[1] == 0 && parsed[0] < MAX_DENSE) {
+                maxNumber = Math.max(maxNumber, parsed[0]);
+            }
+        }
+
+        int[] dense = new int[count == 0 ? 0 : maxNumber + 1];
+        Arrays.fill(dense, NOT_FOUND);
+        int sparseCount = 0;
+        int[] sparseKeys = new int[count];
+        int[] sparsePositions = new int[count];
+        for (int i = 0; i < count; i++) {
+            int number = keys[i] / SUB_LIMIT;
+            if (keys[i] % SUB_LIMIT == 0 && number < MAX_DENSE) {
+                if (dense[number] == NOT_FOUND) {
+                    dense[number] = positions[i];
+                }
+            } else {
+                sparseKeys[sparseCount] = keys[i];
+                sparsePositions[sparseCount] = positions[i];
+                sparseCount++;
+            }
+        }
+        sortByKey(sparseKeys, sparsePositions, sparseCount);
+        return new ArticleIndex(dense,
+                Arrays.copyOf(sparseKeys, sparseCount),
+                Arrays.copyOf(sparsePositions, sparseCount),
+                count);
+    }
+
+    /**
+     * 按 key 稳定排序（插入排序，"之M" 通常只有几条），相同 key 保留位置靠前的
+     */
+    private static void sortByKey(int[] keys, int[] positions, int count) {
+        for (int i = 1; i < count; i++) {
+            int key = keys[i];
+            int position = positions[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            positions[j + 1] = position;
+        }
+    }
+
+    /**
+     * 解析 {@code [start, end)} 开头的 "第N条" 或 "第N条之M"
+     *
+     * @param out out[0] 为 N，out[1] 为 M，没有 "之M" 时为 0
+     * @return 不以条号开头时为 false
+     */
+    static boolean parseArticleNumber(CharSequence line, int start, int end, int[] out) {
+        int numberEnd = ArticleTokenizer.articleNumberEnd(line, start, end);
+        if (numberEnd == -1) {
+            return false;
+        }
+        int number = ChineseNumerals.parse(line, start + 1, numberEnd - 1);
+        if (number == ChineseNumerals.INVALID || number >= Integer.MAX_VALUE / SUB_LIMIT) {
+            return false;
+        }
+        out[0] = number;
+        out[1] = parseSuffix(line, numberEnd, end);
+        return true;
+    }
+
+    /**
+     * "之一" 等后缀的序号，没有或无法识别时为 0
+     */
+    private static int parseSuffix(CharSequence line, int start, int end) {
+        if (start >= end || line.charAt(start) != '之') {
+            return 0;
+        }
+        int i = start + 1;
+        while (i < end && (ChineseNumerals.digit(line.charAt(i)) >= 0 || ArticleTokenizer.isNumeral(line.charAt(i)))) {
+            i++;
+        }
+        int sub = ChineseNumerals.parse(line, start + 1, i);
+        return sub > 0 && sub < SUB_LIMIT ? sub : 0;
+    }
+
+    /**
+     * 已索引的条数
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 条目位置，找不到时为 {@link #NOT_FOUND}
+     *
+     * @param number 条号
+     * @param sub    "之M" 的 M，没有时为 0
+     */
+    public int find(int number, int sub) {
+        if (number < 0 || sub < 0 || sub >= SUB_LIMIT) {
+            return NOT_FOUND;
+        }
+        if (sub == 0 && number < mPositions.length) {
+            return mPositions[number];
+        }
+        if (number > (Integer.MAX_VALUE - sub) / SUB_LIMIT) {
+            return NOT_FOUND;
+        }
+        int i = Arrays.binarySearch(mSparseKeys, number * SUB_LIMIT + sub);
+        if (i < 0) {
+            return NOT_FOUND;
+        }
+        // binarySearch 不保证命中第一个，回退到相同 key 的首个
+        while (i > 0 && mSparseKeys[i - 1] == mSparseKeys[i]) {
+            i--;
+        }
+        return mSparsePositions[i];
+    }
+
+    /**
+     * 按用户输入查找，接受 "第一千零三十二条"、"一千零三十二"、"1032"、"第一百二十条之一"、"120之1" 等写法
+     *
+     * @return 条目位置，无法识别或找不到时为 {@link #NOT_FOUND}
+     */
+    public int find(CharSequence query) {
+        int start = 0;
+        int end = query.length();
+        while (start < end && Character.isWhitespace(query.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(query.charAt(end - 1))) {
+            end--;
+        }
+        if (start < end && query.charAt(start) == '第') {
+            start++;
+        }
+        int numberEnd = start;
+        while (numberEnd < end && query.charAt(numberEnd) != '条' && query.charAt(numberEnd) != '之') {
+            numberEnd++;
+        }
+        int number = ChineseNumerals.parse(query, start, numberEnd);
+        if (number == ChineseNumerals.INVALID) {
+            return NOT_FOUND;
+        }
+        int i = numberEnd;
+        if (i < end && query.charAt(i) == '条') {
+            i++;
+        }
+        int sub = 0;
+        if (i < end) {
+            if (query.charAt(i) != '之') {
+                return NOT_FOUND;
+            }
+            sub = ChineseNumerals.parse(query, i + 1, end);
+            if (sub <= 0) {
+                return NOT_FOUND;
+            }
+        }
+        return find(number, sub);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.Extended;
+import app.incoder.lawrefbook.model.Toc;
+import app.incoder.lawrefbook.model.Type;
+
+/**
+ * ArticleParser
+ * <p>
+ * 将法规 Markdown 逐行解析为 {@link Article}，行分类交给 {@link ArticleTokenizer}。
+ * 行通过 {@link #accept(CharSequence, int, int)} 推入，与行的来源（Reader、mmap 的字节缓冲）无关
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 09:12
+ */
+public final class ArticleParser implements Utf8LineScanner.LineConsumer {
+
+    private static final int NONE = Integer.MIN_VALUE;
+    /**
+     * 首批回调的条目数，约为一屏；之后每批翻倍，回调次数与复制量都是对数/线性级别
+     */
+    private static final int FIRST_BATCH = 32;
+
+    /**
+     * 解析进度回调，在解析线程上调用
+     */
+    public interface ProgressListener {
+        /**
+         * @param batch 自上次回调以来新解析完成的条目，按顺序排列，调用方可以持有
+         */
+        void onContents(List<Content> batch);
+    }
+
+    private final ArticleTokenizer mTokenizer = new ArticleTokenizer();
+    private final List<Toc> mTocList = new ArrayList<>();
+    private final List<Content> mContents = new ArrayList<>();
+    private final StringBuilder mPending = new StringBuilder();
+    /**
+     * index = realLevel, value = parentId，{@link #NONE} 表示未记录
+     */
+    private int[] mLevelParent = new int[8];
+    /**
+     * 记录上一次标题的 parentId，初始化默认没有，即定义为 -1
+     */
+    private int mCompareParentId = -1;
+    private int mTocIndex;
+    private int mTocId;
+    private long mCount;
+    private final ProgressListener mListener;
+    private int mPublished;
+    private int mNextBatch = FIRST_BATCH;
+
+    public ArticleParser() {
+        this(null);
+    }
+
+    public ArticleParser(ProgressListener listener) {
+        mListener = listener;
+        Arrays.fill(mLevelParent, NONE);
+    }
+
+    public static Article parse(BufferedReader reader) throws IOException {
+        ArticleParser parser = new ArticleParser();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            parser.accept(line, 0, line.length());
+        }
+        return parser.finish();
+    }
+
+    /**
+     * 直接解析 UTF-8 字节缓冲，不创建逐行的 String
+     */
+    public static Article parse(ByteBuffer buffer) {
+        return parse(buffer, null);
+    }
+
+    /**
+     * 同 {@link #parse(ByteBuffer)}，解析过程中分批回调已完成的条目，便于边解析边显示
+     */
+    public static Article parse(ByteBuffer buffer, ProgressListener listener) {
+        ArticleParser parser = new ArticleParser(listener);
+        new Utf8LineScanner().scan(buffer, parser);
+        return parser.finish();
+    }
+
+    /**
+     * 推入一行（不含换行符），行首尾空白按 {@link String#trim()} 规则忽略
+     */
+    @Override
+    public void accept(CharSequence line, int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int kind = mTokenizer.classify(line, start, end);
+        if (kind == ArticleTokenizer.SKIP) {
+            return;
+        }
+        if (kind == ArticleTokenizer.HEADING) {
+            heading(line.subSequence(mTokenizer.getHeadlineStart(), end).toString());
+        } else if (kind == ArticleTokenizer.ARTICLE) {
+            flush();
+            mPending.append(line, start, end);
+        } else {
+            mPending.append('\n').append(line, start, end);
+        }
+        mCount += end - start;
+    }
+
+    private void heading(String headline) {
+        mTocIndex++;
+        mTocId++;
+        int realLevel = mTokenizer.getLevel() - 2;
+        int currentParentId = levelParent(realLevel);
+        // 记录最新 top 的 level 和 id
+        if (mCompareParentId != currentParentId) {
+            // 第一层级，清除记录
+            if (realLevel == 1) {
+                Arrays.fill(mLevelParent, NONE);
+            }
+            if (currentParentId == NONE || mCompareParentId < currentParentId) {
+                mCompareParentId = mTocId - 1;
+            } else {
+                mCompareParentId = currentParentId;
+            }
+            mLevelParent[realLevel] = mCompareParentId;
+        }
+        Toc toc = new Toc();
+        toc.setId(mTocId);
+        toc.setParentId(mLevelParent[realLevel]);
+        toc.setPosition(mTocIndex);
+        toc.setTitle(headline);
+        toc.setTitleLevel(realLevel);
+        mTocList.add(toc);
+
+        Content content = new Content();
+        if (mTokenizer.isOrdinal() && realLevel == 1) {
+            content.setType(Type.SECTION_TYPE.getCode());
+        } else if (realLevel > 1) {
+            content.setType(Type.NODE_TYPE.getCode());
+        }
+        content.setRule(headline);
+        mContents.add(content);
+        publish();
+    }
+
+    private int levelParent(int realLevel) {
+        if (realLevel >= mLevelParent.length) {
+            int oldLength = mLevelParent.length;
+            mLevelParent = Arrays.copyOf(mLevelParent, Math.max(realLevel + 1, oldLength * 2));
+            Arrays.fill(mLevelParent, oldLength, mLevelParent.length, NONE);
+        }
+        return mLevelParent[realLevel];
+    }
+
+    private void flush() {
+        if (mPending.length() > 0) {
+            Content content = new Content();
+            content.setType(Type.CONTENT_TYPE.getCode());
+            content.setRule(mPending.toString());
+            mContents.add(content);
+            mTocIndex++;
+            mPending.setLength(0);
+            publish();
+        }
+    }
+
+    private void publish() {
+        if (mListener == null || mContents.size() < mNextBatch) {
+            return;
+        }
+        List<Content> batch = new ArrayList<>(mContents.subList(mPublished, mContents.size()));
+        mPublished = mContents.size();
+        mNextBatch = mPublished * 2;
+        mListener.onContents(batch);
+    }
+
+    public Article finish() {
+        flush();
+        Extended extended = new Extended();
+        extended.setWordsCount(String.valueOf(mCount));
+        extended.setCorrectHistory(new ArrayList<>());
+        Article article = new Article();
+        article.setContents(mContents);
+        article.setToc(mTocList);
+        article.setInfo(extended);
+        return article;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+/**
+ * ArticleTokenizer
+ * <p>
+ * 对 Markdown 单行做一次字符扫描完成分类，替代原先每行多次 {@code matches}、{@code replaceAll}、{@code split}
+ * 带来的正则编译开销。分类结果与原正则保持一致：
+ * <ul>
+ *     <li>{@code ^#+} 纯 # 行：{@link #SKIP}</li>
+ *     <li>{@code ^#+ .*} 标题：{@link #HEADING}</li>
+ *     <li>{@code (第[一二三四五六七八九十零百千万]*条)( *)([\s\S]*)} 法条开始：{@link #ARTICLE}</li>
+ *     <li>其余：{@link #TEXT}</li>
+ * </ul>
+ * 实例有状态（最近一次标题的层级等），不可跨线程共享
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 09:12
+ */
+public final class ArticleTokenizer {
+
+    /**
+     * 空行、纯 # 行，丢弃
+     */
+    public static final int SKIP = 0;
+    /**
+     * # 标题
+     */
+    public static final int HEADING = 1;
+    /**
+     * 第…条 开头的法条
+     */
+    public static final int ARTICLE = 2;
+    /**
+     * 普通正文，拼接到上一条法条
+     */
+    public static final int TEXT = 3;
+
+    private int mLevel;
+    private int mHeadlineStart;
+    private boolean mOrdinal;
+
+    /**
+     * 对已 trim 的行 {@code [start, end)} 分类
+     *
+     * @param line  行内容
+     * @param start 起始位置（含）
+     * @param end   结束位置（不含）
+     * @return {@link #SKIP}、{@link #HEADING}、{@link #ARTICLE} 或 {@link #TEXT}
+     */
+    public int classify(CharSequence line, int start, int end) {
+        if (start >= end) {
+            return SKIP;
+        }
+        char first = line.charAt(start);
+        if (first == '#') {
+            return classifyHeading(line, start, end);
+        }
+        if (first == '第' && isArticleStart(line, start, end)) {
+            return ARTICLE;
+        }
+        return TEXT;
+    }
+
+    private int classifyHeading(CharSequence line, int start, int end) {
+        int i = start + 1;
+        while (i < end && line.charAt(i) == '#') {
+            i++;
+        }
+        if (i == end) {
+            return SKIP;
+        }
+        if (line.charAt(i) != ' ') {
+            return TEXT;
+        }
+        // 与 line.split("#").length 保持一致：末尾连续的 # 不计入，标题中间的 # 计入
+        int last = end - 1;
+        while (line.charAt(last) == '#') {
+            last--;
+        }
+        int level = 1;
+        for (int j = start; j < end; j++) {
+            char c = line.charAt(j);
+            if (isLineTerminator(c)) {
+                // 正则 . 不匹配换行类字符，原实现会把这类行当作正文
+                return TEXT;
+            }
+            if (c == '#' && j < last) {
+                level++;
+            }
+        }
+        mLevel = level;
+        mHeadlineStart = i + 1;
+        mOrdinal = mHeadlineStart + 1 < end
+                && line.charAt(mHeadlineStart) == '第'
+                && isNumeral(line.charAt(mHeadlineStart + 1));
+        return HEADING;
+    }
+
+    /**
+     * 最近一次 {@link #HEADING} 的层级，等同于原实现的 {@code line.split("#").length}
+     */
+    public int getLevel() {
+        return mLevel;
+    }
+
+    /**
+     * 最近一次 {@link #HEADING} 去掉 {@code ^#+ } 之后标题文字的起始位置
+     */
+    public int getHeadlineStart() {
+        return mHeadlineStart;
+    }
+
+    /**
+     * 最近一次 {@link #HEADING} 的标题是否以 "第" + 中文数字开头，如 "第一章"
+     */
+    public boolean isOrdinal() {
+        return mOrdinal;
+    }
+
+    /**
+     * 是否为 "第…条" 开头，等同于 {@code (第[一二三四五六七八九十零百千万]*条)( *)([\s\S]*)}
+     */
+    public static boolean isArticleStart(CharSequence line, int start, int end) {
+        return articleNumberEnd(line, start, end) != -1;
+    }
+
+    /**
+     * "第…条" 条号之后的位置，不以条号开头时为 -1
+     */
+    public static int articleNumberEnd(CharSequence line, int start, int end) {
+        if (start >= end || line.charAt(start) != '第') {
+            return -1;
+        }
+        int i = start + 1;
+        while (i < end && isNumeral(line.charAt(i))) {
+            i++;
+        }
+        return i < end && line.charAt(i) == '条' ? i + 1 : -1;
+    }
+
+    public static boolean isNumeral(char c) {
+        switch (c) {
+            case '一':
+            case '二':
+            case '三':
+            case '四':
+            case '五':
+            case '六':
+            case '七':
+            case '八':
+            case '九':
+            case '十':
+            case '零':
+            case '百':
+            case '千':
+            case '万':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
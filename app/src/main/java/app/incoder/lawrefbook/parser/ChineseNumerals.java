@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+/**
+ * ChineseNumerals
+ * <p>
+ * 中文数字转换为 int，用于条号 "第一千零三十二条" 等：
+ * <ul>
+ *     <li>位值写法：一千零三十二、十三（省略"一"的十）、二十万零五</li>
+ *     <li>逐位写法：一〇三二</li>
+ *     <li>阿拉伯数字：1032，便于跳转输入</li>
+ * </ul>
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 16:05
+ */
+public final class ChineseNumerals {
+
+    public static final int INVALID = -1;
+
+    /**
+     * 逐位写法与阿拉伯数字最多 9 位，保证不溢出 int
+     */
+    private static final int MAX_DIGITS = 9;
+
+    private ChineseNumerals() {
+    }
+
+    /**
+     * 转换整个字符串，非法时返回 {@link #INVALID}
+     */
+    public static int parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * 转换 {@code [start, end)}，非法或为空时返回 {@link #INVALID}
+     */
+    public static int parse(CharSequence text, int start, int end) {
+        if (start >= end) {
+            return INVALID;
+        }
+        boolean hasUnit = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (unit(c) > 0) {
+                hasUnit = true;
+            } else if (digit(c) < 0) {
+                return INVALID;
+            }
+        }
+        return hasUnit ? parsePositional(text, start, end) : parseDigits(text, start, end);
+    }
+
+    /**
+     * 一千零三十二：节内按 十、百、千 累加，遇 万 整节乘一万
+     */
+    private static int parsePositional(CharSequence text, int start, int end) {
+        long total = 0;
+        long section = 0;
+        int number = 0;
+        // 上一个字符是非零数字，用于拒绝 "三三百" 之类的写法
+        boolean pending = false;
+        // 本节上一个单位，单位须递减，拒绝 "三十五百"
+        int lastUnit = Integer.MAX_VALUE;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            int d = digit(c);
+            if (d >= 0) {
+                if (d != 0 && pending) {
+                    return INVALID;
+                }
+                number = d;
+                pending = d != 0;
+                continue;
+            }
+            int u = unit(c);
+            if (u == 10000) {
+                if (total + section + number == 0) {
+                    return INVALID;
+                }
+                total = (total + section + number) * 10000;
+                if (total > Integer.MAX_VALUE) {
+                    return INVALID;
+                }
+                section = 0;
+                lastUnit = Integer.MAX_VALUE;
+            } else {
+                if (u >= lastUnit) {
+                    return INVALID;
+                }
+                if (number == 0) {
+                    // 十三、一百十 中省略了 "一" 的十；其他单位前必须有数字
+                    if (u != 10 || pending) {
+                        return INVALID;
+                    }
+                    number = 1;
+                }
+                section += (long) number * u;
+                lastUnit = u;
+            }
+            number = 0;
+            pending = false;
+        }
+        long value = total + section + number;
+        return value > Integer.MAX_VALUE ? INVALID : (int) value;
+    }
+
+    /**
+     * 一〇三二、1032：逐位读取
+     */
+    private static int parseDigits(CharSequence text, int start, int end) {
+        if (end - start > MAX_DIGITS) {
+            return INVALID;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + digit(text.charAt(i));
+        }
+        return value;
+    }
+
+    /**
+     * 中文或阿拉伯数字 0~9，其余为 -1
+     */
+    public static int digit(char c) {
+        switch (c) {
+            case '零':
+            case '〇':
+            case '0':
+                return 0;
+            case '一':
+            case '1':
+                return 1;
+            case '二':
+            case '两':
+            case '2':
+                return 2;
+            case '三':
+            case '3':
+                return 3;
+            case '四':
+            case '4':
+                return 4;
+            case '五':
+            case '5':
+                return 5;
+            case '六':
+            case '6':
+                return 6;
+            case '七':
+            case '7':
+                return 7;
+            case '八':
+            case '8':
+                return 8;
+            case '九':
+            case '9':
+                return 9;
+            default:
+                return -1;
+        }
+    }
+
+    private static int unit(char c) {
+        switch (c) {
+            case '十':
+                return 10;
+            case '百':
+                return 100;
+            case '千':
+                return 1000;
+            case '万':
+                return 10000;
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Utf8LineScanner
+ * <p>
+ * 直接在 UTF-8 字节缓冲（通常是 mmap 的 assets）上按行扫描，每行解码到复用的 char 数组后回调，
+ * 不为每行创建 String。换行规则与 {@link java.io.BufferedReader#readLine()} 一致（\n、\r、\r\n），
+ * 非法字节序列替换为 U+FFFD
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 11:40
+ */
+public final class Utf8LineScanner {
+
+    private static final char REPLACEMENT = '\uFFFD';
+
+    public interface LineConsumer {
+        /**
+         * 一行内容，{@code line} 在回调返回后会被复用，需要保留时自行复制
+         */
+        void accept(CharSequence line, int start, int end);
+    }
+
+    private char[] mChars = new char[256];
+    private CharBuffer mView = CharBuffer.wrap(mChars);
+
+    /**
+     * 扫描 {@code buffer} 的 [position, limit)，不改变其 position
+     */
+    public void scan(ByteBuffer buffer, LineConsumer consumer) {
+        int pos = buffer.position();
+        int limit = buffer.limit();
+        int n = 0;
+        while (pos < limit) {
+            int b = buffer.get(pos++) & 0xFF;
+            if (b == '\n' || b == '\r') {
+                consumer.accept(mView, 0, n);
+                n = 0;
+                if (b == '\r' && pos < limit && buffer.get(pos) == '\n') {
+                    pos++;
+                }
+                continue;
+            }
+            if (n + 2 > mChars.length) {
+                grow();
+            }
+            if (b < 0x80) {
+                mChars[n++] = (char) b;
+                continue;
+            }
+            int need;
+            int cp;
+            int min = 0x80;
+            int max = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                need = 1;
+                cp = b & 0x1F;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                need = 2;
+                cp = b & 0x0F;
+                if (b == 0xE0) {
+                    min = 0xA0;
+                } else if (b == 0xED) {
+                    // 代理区 U+D800..U+DFFF 不允许直接编码
+                    max = 0x9F;
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                need = 3;
+                cp = b & 0x07;
+                if (b == 0xF0) {
+                    min = 0x90;
+                } else if (b == 0xF4) {
+                    max = 0x8F;
+                }
+            } else {
+                mChars[n++] = REPLACEMENT;
+                continue;
+            }
+            boolean malformed = false;
+            for (int i = 0; i < need; i++) {
+                if (pos >= limit) {
+                    malformed = true;
+                    break;
+                }
+                int c = buffer.get(pos) & 0xFF;
+                if (c < min || c > max) {
+                    malformed = true;
+                    break;
+                }
+                min = 0x80;
+                max = 0xBF;
+                cp = (cp << 6) | (c & 0x3F);
+                pos++;
+            }
+            if (malformed) {
+                mChars[n++] = REPLACEMENT;
+            } else if (cp >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                mChars[n++] = Character.highSurrogate(cp);
+                mChars[n++] = Character.lowSurrogate(cp);
+            } else {
+                mChars[n++] = (char) cp;
+            }
+        }
+        if (n > 0) {
+            consumer.accept(mView, 0, n);
+        }
+    }
+
+    private void grow() {
+        char[] chars = new char[mChars.length * 2];
+        System.arraycopy(mChars, 0, chars, 0, mChars.length);
+        mChars = chars;
+        mView = CharBuffer.wrap(mChars);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * AhoCorasick
+ * <p>
+ * 多模式串匹配自动机，一次扫描找出全部查询词的所有出现位置，与词数无关。
+ * 节点的子节点按字符升序存放在数组中二分查找，失配时沿 fail 链回退；
+ * 每个节点的 output 链只串起本身是词尾的后缀节点，匹配时不必遍历整条 fail 链；处于根节点时先查词首字符位图。
+ * 拉丁字母不区分大小写
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:40
+ */
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final char[][] mLabels;
+    private final int[][] mChildren;
+    private final int[] mFail;
+    /**
+     * 以该节点结尾的词长，不是词尾为 0
+     */
+    private final int[] mLength;
+    /**
+     * fail 链上下一个词尾节点，没有为 {@link #NONE}
+     */
+    private final int[] mOutput;
+    private final int mPatternCount;
+    /**
+     * 词首字符的位图，在根节点时绝大多数字符不是任何词的开头，直接跳过
+     */
+    private final long[] mFirstChars = new long[(Character.MAX_VALUE + 1) / 64];
+
+    /**
+     * 匹配回调，按结束位置升序；同一位置结束的多个词先长后短
+     */
+    public interface Listener {
+        /**
+         * @param start  匹配在 text 中的起点
+         * @param length 匹配的字数
+         */
+        void onMatch(int start, int length);
+    }
+
+    private AhoCorasick(char[][] labels, int[][] children, int[] fail, int[] length, int[] output, int patternCount) {
+        mLabels = labels;
+        mChildren = children;
+        mFail = fail;
+        mLength = length;
+        mOutput = output;
+        mPatternCount = patternCount;
+        for (char c : labels[ROOT]) {
+            mFirstChars[c >>> 6] |= 1L << c;
+            if (c >= 'a' && c <= 'z') {
+                char upper = (char) (c - ('a' - 'A'));
+                mFirstChars[upper >>> 6] |= 1L << upper;
+            }
+        }
+    }
+
+    /**
+     * 空串与重复的词忽略
+     */
+    public static AhoCorasick of(Collection<String> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        lengths.add(0);
+        int patternCount = 0;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = fold(pattern.charAt(i));
+                Integer child = trie.get(node).get(c);
+                if (child == null) {
+                    child = trie.size();
+                    trie.add(new TreeMap<>());
+                    lengths.add(0);
+                    trie.get(node).put(c, child);
+                }
+                node = child;
+            }
+            if (lengths.get(node) == 0) {
+                lengths.set(node, pattern.length());
+                patternCount++;
+            }
+        }
+
+        int count = trie.size();
+        char[][] labels = new char[count][];
+        int[][] children = new int[count][];
+        int[] length = new int[count];
+        for (int node = 0; node < count; node++) {
+            TreeMap<Character, Integer> map = trie.get(node);
+            labels[node] = new char[map.size()];
+            children[node] = new int[map.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> entry : map.entrySet()) {
+                labels[node][i] = entry.getKey();
+                children[node][i] = entry.getValue();
+                i++;
+            }
+            length[node] = lengths.get(node);
+        }
+
+        // 按层序计算 fail 与 output，父节点总是先于子节点处理
+        int[] fail = new int[count];
+        int[] output = new int[count];
+        output[ROOT] = NONE;
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = ROOT;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int i = 0; i < labels[node].length; i++) {
+                int child = children[node][i];
+                if (node == ROOT) {
+                    fail[child] = ROOT;
+                } else {
+                    int state = fail[node];
+                    int next = child(labels, children, state, labels[node][i]);
+                    while (next == NONE && state != ROOT) {
+                        state = fail[state];
+                        next = child(labels, children, state, labels[node][i]);
+                    }
+                    fail[child] = next != NONE ? next : ROOT;
+                }
+                int suffix = fail[child];
+                output[child] = length[suffix] > 0 ? suffix : output[suffix];
+                queue[tail++] = child;
+            }
+        }
+        return new AhoCorasick(labels, children, fail, length, output, patternCount);
+    }
+
+    private static int child(char[][] labels, int[][] children, int node, char c) {
+        char[] keys = labels[node];
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < c) {
+                low = mid + 1;
+            } else if (keys[mid] > c) {
+                high = mid - 1;
+            } else {
+                return children[node][mid];
+            }
+        }
+        return NONE;
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * 不同的非空词数
+     */
+    public int getPatternCount() {
+        return mPatternCount;
+    }
+
+    /**
+     * 扫描 {@code text} 的 [start, end)，报告全部匹配，包括相互重叠的
+     */
+    public void scan(char[] text, int start, int end, Listener listener) {
+        if (mPatternCount == 0) {
+            return;
+        }
+        int state = ROOT;
+        for (int i = start; i < end; i++) {
+            if (state == ROOT && (mFirstChars[text[i] >>> 6] & 1L << text[i]) == 0) {
+                continue;
+            }
+            char c = fold(text[i]);
+            int next = child(mLabels, mChildren, state, c);
+            while (next == NONE && state != ROOT) {
+                state = mFail[state];
+                next = child(mLabels, mChildren, state, c);
+            }
+            state = next != NONE ? next : ROOT;
+            int node = mLength[state] > 0 ? state : mOutput[state];
+            while (node != NONE) {
+                listener.onMatch(i + 1 - mLength[node], mLength[node]);
+                node = mOutput[node];
+            }
+        }
+    }
+}
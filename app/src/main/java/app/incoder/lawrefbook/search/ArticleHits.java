@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import app.incoder.lawrefbook.model.CompactArticle;
+
+/**
+ * ArticleHits
+ * <p>
+ * 一篇法规内的检索结果。查询按空白拆成多个词，用 {@link AhoCorasick} 对 {@link CompactArticle#getText()} 逐条目扫描一次，
+ * 匹配不跨条目；同一条目内重叠的匹配取靠前的、同一起点取最长的。命中按条目位置、条目内起点升序存放在基本类型数组中，
+ * 逐条目绑定时二分出本条目的一段，不再在绑定时查找
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:40
+ */
+public final class ArticleHits {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final ArticleHits EMPTY = new ArticleHits("", Collections.emptyList(), 0, new int[0], new int[0], new int[0]);
+
+    private final String mQuery;
+    private final List<String> mTerms;
+    private final int mArticleSize;
+    private final int[] mPositions;
+    private final int[] mStarts;
+    private final int[] mLengths;
+
+    private ArticleHits(String query, List<String> terms, int articleSize, int[] positions, int[] starts, int[] lengths) {
+        mQuery = query;
+        mTerms = terms;
+        mArticleSize = articleSize;
+        mPositions = positions;
+        mStarts = starts;
+        mLengths = lengths;
+    }
+
+    public static ArticleHits empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 在后台线程调用，耗时与正文长度成正比，与词数无关
+     */
+    public static ArticleHits find(CompactArticle article, String query) {
+        List<String> terms = terms(query);
+        AhoCorasick matcher = AhoCorasick.of(terms);
+        Collector collector = new Collector();
+        char[] text = article.getText();
+        for (int position = 0; position < article.size(); position++) {
+            int start = article.getStart(position);
+            collector.begin(position, start);
+            matcher.scan(text, start, start + article.getLength(position), collector);
+            collector.end();
+        }
+        return new ArticleHits(query, terms, article.size(),
+                Arrays.copyOf(collector.mPositions, collector.mCount),
+                Arrays.copyOf(collector.mStarts, collector.mCount),
+                Arrays.copyOf(collector.mLengths, collector.mCount));
+    }
+
+    /**
+     * 按空白拆分查询，去掉重复的词，保留输入顺序
+     */
+    public static List<String> terms(String query) {
+        LinkedHashSet<String> terms = new LinkedHashSet<>();
+        for (String term : query.trim().split("\\s+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(terms));
+    }
+
+    public String getQuery() {
+        return mQuery;
+    }
+
+    public List<String> getTerms() {
+        return mTerms;
+    }
+
+    /**
+     * 检索时的条目数，文章仍在加载时小于完整文章
+     */
+    public int getArticleSize() {
+        return mArticleSize;
+    }
+
+    /**
+     * 命中数
+     */
+    public int size() {
+        return mPositions.length;
+    }
+
+    /**
+     * 命中所在的条目位置
+     */
+    public int getPosition(int hit) {
+        return mPositions[hit];
+    }
+
+    /**
+     * 命中相对条目起点的位置
+     */
+    public int getStart(int hit) {
+        return mStarts[hit];
+    }
+
+    public int getLength(int hit) {
+        return mLengths[hit];
+    }
+
+    /**
+     * 条目 {@code position} 的第一个命中，与 {@link #getHitEnd(int)} 组成该条目的命中区间
+     */
+    public int getHitStart(int position) {
+        return lowerBound(position);
+    }
+
+    /**
+     * 条目 {@code position} 最后一个命中之后的下标
+     */
+    public int getHitEnd(int position) {
+        return lowerBound(position + 1);
+    }
+
+    /**
+     * 位于条目 {@code position} 或其后的第一个命中，之后没有时回到第一个
+     *
+     * @return 没有命中时为 {@link #NOT_FOUND}
+     */
+    public int nearestHit(int position) {
+        if (mPositions.length == 0) {
+            return NOT_FOUND;
+        }
+        int hit = lowerBound(position);
+        return hit < mPositions.length ? hit : 0;
+    }
+
+    /**
+     * 第一个位于不小于 {@code position} 的条目中的命中
+     */
+    private int lowerBound(int position) {
+        int low = 0;
+        int high = mPositions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mPositions[mid] < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 收集一个条目内的匹配，条目结束时去掉重叠的再追加到结果
+     */
+    private static final class Collector implements AhoCorasick.Listener {
+
+        private int[] mPositions = new int[16];
+        private int[] mStarts = new int[16];
+        private int[] mLengths = new int[16];
+        private int mCount;
+
+        private int mPosition;
+        private int mOffset;
+        /**
+         * 本条目的匹配，start << 32 | (Integer.MAX_VALUE - length)，排序后起点在前、同起点长的在前
+         */
+        private long[] mPending = new long[16];
+        private int mPendingCount;
+
+        void begin(int position, int offset) {
+            mPosition = position;
+            mOffset = offset;
+            mPendingCount = 0;
+        }
+
+        @Override
+        public void onMatch(int start, int length) {
+            if (mPendingCount == mPending.length) {
+                mPending = Arrays.copyOf(mPending, mPendingCount * 2);
+            }
+            mPending[mPendingCount++] = (long) (start - mOffset) << 32 | (Integer.MAX_VALUE - length);
+        }
+
+        void end() {
+            if (mPendingCount == 0) {
+                return;
+            }
+            Arrays.sort(mPending, 0, mPendingCount);
+            int covered = 0;
+            for (int i = 0; i < mPendingCount; i++) {
+                int start = (int) (mPending[i] >>> 32);
+                int length = Integer.MAX_VALUE - (int) mPending[i];
+                if (start < covered) {
+                    continue;
+                }
+                if (mCount == mPositions.length) {
+                    mPositions = Arrays.copyOf(mPositions, mCount * 2);
+                    mStarts = Arrays.copyOf(mStarts, mCount * 2);
+                    mLengths = Arrays.copyOf(mLengths, mCount * 2);
+                }
+                mPositions[mCount] = mPosition;
+                mStarts[mCount] = start;
+                mLengths[mCount] = length;
+                mCount++;
+                covered = start + length;
+            }
+        }
+    }
+}
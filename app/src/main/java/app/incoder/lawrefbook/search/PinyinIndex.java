@@ -0,0 +1,823 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PinyinIndex
+ * <p>
+ * 法规标题与目录（编、章、节）的拼音索引，输入 "xingfa" 或首字母 "mfd" 即可找到 刑法、民法典。
+ * 构建期由 {@link Builder} 按 {@link PinyinTable} 标注读音后写出，运行期 mmap 后只读：
+ * <pre>
+ * int    magic 'LRBP'
+ * short  version
+ * int    syllableCount, string * syllableCount
+ * int    docCount, { string path, string title } * docCount
+ * int    entryCount, int[entryCount] doc, int[entryCount] position, int[entryCount] from
+ * int[entryCount + 1] syllableOffset, short[syllableOffset[entryCount]] syllable
+ * int[entryCount + 1] textOffset, byte[textOffset[entryCount]] utf8
+ * trie * 4        依次为 标题全拼、标题首字母、目录全拼、目录首字母
+ * trie   := { int keyCount, int[keyCount] key, int nodeCount, int[nodeCount] node, int[nodeCount] firstChild,
+ *             int[nodeCount] low, int[nodeCount] high }
+ * string := { short byteLength, byte[] utf8 }
+ * </pre>
+ * 条目（entry）为一个标题或一条目录，每个字对应一个音节 id，没有读音的为 0xFFFF。
+ * 键为 entry &lt;&lt; 8 | start，表示从第 start 个字起连续有读音的字拼成的字母串，全部键按字母串排序；
+ * 标题的每个字都是键的起点，目录只取序号之后的第一个字；
+ * 键数超过 {@link #BURST} 的区间按下一个字母展开成子节点（node 为 label &lt;&lt; 16 | childCount，层序存放，兄弟连续），
+ * 查询沿树下行，到叶子后在 [low, high) 内按字母串二分，字母串由音节现算，不在索引中展开存放
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:10
+ */
+public final class PinyinIndex {
+
+    /**
+     * 索引在 assets 中的路径
+     */
+    public static final String ASSET_PATH = "compiled/pinyin.bin";
+
+    /**
+     * 标题条目的位置
+     */
+    public static final int TITLE = -1;
+
+    private static final int MAGIC = 0x4C524250;
+    private static final short VERSION = 1;
+
+    private static final int NONE = 0xFFFF;
+    private static final int FULL = 0;
+    private static final int INITIALS = 1;
+    /**
+     * 键数不超过该值的区间不再展开
+     */
+    private static final int BURST = 64;
+    /**
+     * start 存放在键的低 8 位
+     */
+    private static final int MAX_START = 0xFF;
+    /**
+     * 每棵树最多检查的键数，常见的一两个字母命中过多时只取前面的
+     */
+    private static final int MAX_SCAN = 1024;
+
+    private final char[][] mSyllables;
+    private final String[] mDocPaths;
+    private final String[] mDocTitles;
+    private final IntBuffer mEntryDoc;
+    private final IntBuffer mEntryPosition;
+    private final IntBuffer mEntryFrom;
+    private final IntBuffer mSyllableOffsets;
+    private final ShortBuffer mEntrySyllables;
+    private final IntBuffer mTextOffsets;
+    private final ByteBuffer mTexts;
+    private final Trie[] mTries;
+
+    private PinyinIndex(char[][] syllables, String[] docPaths, String[] docTitles,
+                        IntBuffer entryDoc, IntBuffer entryPosition, IntBuffer entryFrom,
+                        IntBuffer syllableOffsets, ShortBuffer entrySyllables,
+                        IntBuffer textOffsets, ByteBuffer texts, Trie[] tries) {
+        mSyllables = syllables;
+        mDocPaths = docPaths;
+        mDocTitles = docTitles;
+        mEntryDoc = entryDoc;
+        mEntryPosition = entryPosition;
+        mEntryFrom = entryFrom;
+        mSyllableOffsets = syllableOffsets;
+        mEntrySyllables = entrySyllables;
+        mTextOffsets = textOffsets;
+        mTexts = texts;
+        mTries = tries;
+    }
+
+    /**
+     * 从 {@code buffer} 的当前 position 读取，通常是 mmap 的 assets
+     */
+    public static PinyinIndex read(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (in.remaining() < 4 || in.getInt() != MAGIC) {
+                throw new IOException("Not a pinyin index");
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported pinyin index version " + version);
+            }
+            int syllableCount = count(in, 2);
+            char[][] syllables = new char[syllableCount][];
+            for (int i = 0; i < syllableCount; i++) {
+                syllables[i] = readString(in).toCharArray();
+                if (syllables[i].length == 0) {
+                    throw new IOException("Empty syllable " + i);
+                }
+            }
+            int docCount = count(in, 4);
+            String[] paths = new String[docCount];
+            String[] titles = new String[docCount];
+            for (int i = 0; i < docCount; i++) {
+                paths[i] = readString(in);
+                titles[i] = readString(in);
+            }
+
+            int entryCount = count(in, 20);
+            IntBuffer entryDoc = slice(in, entryCount * 4).asIntBuffer();
+            IntBuffer entryPosition = slice(in, entryCount * 4).asIntBuffer();
+            IntBuffer entryFrom = slice(in, entryCount * 4).asIntBuffer();
+            IntBuffer syllableOffsets = slice(in, (entryCount + 1) * 4).asIntBuffer();
+            ShortBuffer entrySyllables = slice(in, length(syllableOffsets, entryCount, 2, in)).asShortBuffer();
+            IntBuffer textOffsets = slice(in, (entryCount + 1) * 4).asIntBuffer();
+            ByteBuffer texts = slice(in, length(textOffsets, entryCount, 1, in));
+            for (int i = 0; i < entryCount; i++) {
+                if (entryDoc.get(i) < 0 || entryDoc.get(i) >= docCount
+                        || syllableOffsets.get(i) < 0 || syllableOffsets.get(i) > syllableOffsets.get(i + 1)
+                        || textOffsets.get(i) < 0 || textOffsets.get(i) > textOffsets.get(i + 1)) {
+                    throw new IOException("Corrupt pinyin index entry " + i);
+                }
+            }
+
+            Trie[] tries = new Trie[4];
+            for (int i = 0; i < tries.length; i++) {
+                IntBuffer keys = slice(in, count(in, 4) * 4).asIntBuffer();
+                int nodeCount = count(in, 16);
+                if (nodeCount == 0) {
+                    throw new IOException("Missing trie root");
+                }
+                tries[i] = new Trie(keys,
+                        slice(in, nodeCount * 4).asIntBuffer(),
+                        slice(in, nodeCount * 4).asIntBuffer(),
+                        slice(in, nodeCount * 4).asIntBuffer(),
+                        slice(in, nodeCount * 4).asIntBuffer());
+            }
+            return new PinyinIndex(syllables, paths, titles, entryDoc, entryPosition, entryFrom,
+                    syllableOffsets, entrySyllables, textOffsets, texts, tries);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated pinyin index", e);
+        }
+    }
+
+    /**
+     * 读取元素个数，并按每个元素至少 {@code minBytes} 字节校验剩余长度
+     */
+    private static int count(ByteBuffer in, int minBytes) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || (long) count * minBytes > in.remaining()) {
+            throw new IOException("Truncated pinyin index");
+        }
+        return count;
+    }
+
+    /**
+     * 偏移表末项给出的数据字节数
+     */
+    private static int length(IntBuffer offsets, int count, int elementBytes, ByteBuffer in) throws IOException {
+        int length = offsets.get(count);
+        if (length < 0 || (long) length * elementBytes > in.remaining()) {
+            throw new IOException("Truncated pinyin index");
+        }
+        return length * elementBytes;
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        ByteBuffer slice = in.slice();
+        slice.limit(length);
+        in.position(in.position() + length);
+        return slice.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 规范化拼音查询：保留字母并转小写，ü 写作 v，去掉空格与隔音符 '
+     *
+     * @return 含其他字符或为空时为 null，即不是拼音查询
+     */
+    public static String normalizeQuery(CharSequence query) {
+        StringBuilder letters = new StringBuilder(query.length());
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c >= 'Ａ' && c <= 'ｚ') {
+                // 全角字母
+                c = (char) (c - 0xFEE0);
+            }
+            if (c >= 'a' && c <= 'z') {
+                letters.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                letters.append((char) (c + ('a' - 'A')));
+            } else if (c == 'ü' || c == 'Ü') {
+                letters.append('v');
+            } else if (!Character.isWhitespace(c) && c != '\'') {
+                return null;
+            }
+        }
+        return letters.length() == 0 ? null : letters.toString();
+    }
+
+    public int getDocumentCount() {
+        return mDocPaths.length;
+    }
+
+    /**
+     * 法规的 assets 路径，如 Laws/刑法/刑法.md
+     */
+    public String getDocumentPath(int doc) {
+        return mDocPaths[doc];
+    }
+
+    public String getDocumentTitle(int doc) {
+        return mDocTitles[doc];
+    }
+
+    public int getEntryCount() {
+        return mEntryDoc.limit();
+    }
+
+    /**
+     * 按全拼或首字母查找标题与目录，标题在前；同类中匹配开头的在前，其次字数少的，最后按加入顺序
+     *
+     * @param limit 最多返回的条数
+     * @return 不是拼音查询时为空
+     */
+    public List<Hit> find(CharSequence query, int limit) {
+        String normalized = normalizeQuery(query);
+        if (normalized == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        char[] letters = normalized.toCharArray();
+        Map<Integer, Candidate> best = new HashMap<>();
+        List<Candidate> candidates = new ArrayList<>();
+        for (int t = 0; t < mTries.length; t++) {
+            if (t == 2 && candidates.size() >= limit) {
+                // 标题总排在目录之前，已经够数时不再查目录
+                break;
+            }
+            int type = t & 1;
+            Trie trie = mTries[t];
+            int[] range = range(trie, type, letters);
+            int end = Math.min(range[1], range[0] + MAX_SCAN);
+            for (int k = range[0]; k < end; k++) {
+                int key = trie.mKeys.get(k);
+                int entry = key >>> 8;
+                int start = key & MAX_START;
+                boolean prefix = start == mEntryFrom.get(entry);
+                Candidate candidate = best.get(entry);
+                if (candidate == null) {
+                    candidate = new Candidate(entry, length(entry));
+                    best.put(entry, candidate);
+                    candidates.add(candidate);
+                } else if (candidate.mPrefix || !prefix) {
+                    continue;
+                }
+                candidate.mType = type;
+                candidate.mStart = start;
+                candidate.mPrefix = prefix;
+            }
+        }
+        Collections.sort(candidates, (a, b) -> {
+            boolean aTitle = mEntryPosition.get(a.mEntry) == TITLE;
+            boolean bTitle = mEntryPosition.get(b.mEntry) == TITLE;
+            if (aTitle != bTitle) {
+                return aTitle ? -1 : 1;
+            }
+            if (a.mPrefix != b.mPrefix) {
+                return a.mPrefix ? -1 : 1;
+            }
+            if (a.mLength != b.mLength) {
+                return Integer.compare(a.mLength, b.mLength);
+            }
+            return Integer.compare(a.mEntry, b.mEntry);
+        });
+
+        List<Hit> hits = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (Candidate candidate : candidates) {
+            if (hits.size() == limit) {
+                break;
+            }
+            int entry = candidate.mEntry;
+            int doc = mEntryDoc.get(entry);
+            hits.add(new Hit(doc, mDocPaths[doc], mDocTitles[doc], mEntryPosition.get(entry), text(entry),
+                    candidate.mStart, matchedLength(candidate.mType, entry, candidate.mStart, letters.length),
+                    candidate.mPrefix));
+        }
+        return hits;
+    }
+
+    /**
+     * 以 {@code letters} 开头的键的下标区间 [low, high)
+     */
+    private int[] range(Trie trie, int type, char[] letters) {
+        int node = 0;
+        int depth = 0;
+        while (depth < letters.length) {
+            int childCount = trie.mNodes.get(node) & 0xFFFF;
+            if (childCount == 0) {
+                break;
+            }
+            int child = trie.mFirstChild.get(node);
+            int found = -1;
+            for (int i = child; i < child + childCount; i++) {
+                if (trie.mNodes.get(i) >>> 16 == letters[depth]) {
+                    found = i;
+                    break;
+                }
+            }
+            if (found == -1) {
+                return new int[]{0, 0};
+            }
+            node = found;
+            depth++;
+        }
+        int low = trie.mLow.get(node);
+        int high = trie.mHigh.get(node);
+        if (depth == letters.length) {
+            return new int[]{low, high};
+        }
+        // 叶子区间内字母串有序，二分出以 letters 开头的一段
+        int from = depth;
+        int lo = low;
+        int hi = high;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(type, trie.mKeys.get(mid), letters, from) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int first = lo;
+        hi = high;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(type, trie.mKeys.get(mid), letters, from) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return new int[]{first, lo};
+    }
+
+    /**
+     * 比较键的字母串与 {@code letters}，从第 {@code from} 个字母起；以 letters 开头视为相等
+     */
+    private int compare(int type, int key, char[] letters, int from) {
+        for (int depth = from; depth < letters.length; depth++) {
+            char c = letter(type, key, depth);
+            if (c != letters[depth]) {
+                return c - letters[depth];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 键的第 {@code depth} 个字母，字母串结束时为 0
+     */
+    private char letter(int type, int key, int depth) {
+        int entry = key >>> 8;
+        int i = mSyllableOffsets.get(entry) + (key & MAX_START);
+        int end = mSyllableOffsets.get(entry + 1);
+        if (type == INITIALS) {
+            i += depth;
+            int syllable = i < end ? mEntrySyllables.get(i) & 0xFFFF : NONE;
+            return syllable == NONE ? 0 : mSyllables[syllable][0];
+        }
+        for (; i < end; i++) {
+            int syllable = mEntrySyllables.get(i) & 0xFFFF;
+            if (syllable == NONE) {
+                return 0;
+            }
+            char[] name = mSyllables[syllable];
+            if (depth < name.length) {
+                return name[depth];
+            }
+            depth -= name.length;
+        }
+        return 0;
+    }
+
+    /**
+     * 从 {@code start} 起覆盖 {@code letterCount} 个字母的字数，全拼的最后一个音节可以只输入一部分
+     */
+    private int matchedLength(int type, int entry, int start, int letterCount) {
+        if (type == INITIALS) {
+            return letterCount;
+        }
+        int i = mSyllableOffsets.get(entry) + start;
+        int count = 0;
+        while (letterCount > 0) {
+            letterCount -= mSyllables[mEntrySyllables.get(i + count) & 0xFFFF].length;
+            count++;
+        }
+        return count;
+    }
+
+    private int length(int entry) {
+        return mSyllableOffsets.get(entry + 1) - mSyllableOffsets.get(entry);
+    }
+
+    private String text(int entry) {
+        int start = mTextOffsets.get(entry);
+        byte[] bytes = new byte[mTextOffsets.get(entry + 1) - start];
+        ByteBuffer in = mTexts.duplicate();
+        in.position(start);
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 目录开头 "第一章"、"第二编" 之类序号之后的位置，序号不参与拼音匹配；没有序号时为 0
+     */
+    static int headlineStart(CharSequence headline) {
+        int length = headline.length();
+        if (length == 0 || headline.charAt(0) != '第') {
+            return 0;
+        }
+        int i = 1;
+        while (i < length && !Character.isWhitespace(headline.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return 0;
+        }
+        while (i < length && Character.isWhitespace(headline.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Trie {
+
+        private final IntBuffer mKeys;
+        private final IntBuffer mNodes;
+        private final IntBuffer mFirstChild;
+        private final IntBuffer mLow;
+        private final IntBuffer mHigh;
+
+        Trie(IntBuffer keys, IntBuffer nodes, IntBuffer firstChild, IntBuffer low, IntBuffer high) {
+            mKeys = keys;
+            mNodes = nodes;
+            mFirstChild = firstChild;
+            mLow = low;
+            mHigh = high;
+        }
+    }
+
+    /**
+     * 查询期每个条目最好的一次匹配
+     */
+    private static final class Candidate {
+
+        private final int mEntry;
+        private final int mLength;
+        private int mType;
+        private int mStart;
+        private boolean mPrefix;
+
+        Candidate(int entry, int length) {
+            mEntry = entry;
+            mLength = length;
+        }
+    }
+
+    /**
+     * 一条命中的标题或目录
+     */
+    public static final class Hit {
+
+        private final int mDocument;
+        private final String mPath;
+        private final String mTitle;
+        private final int mPosition;
+        private final String mText;
+        private final int mStart;
+        private final int mLength;
+        private final boolean mPrefix;
+
+        Hit(int document, String path, String title, int position, String text, int start, int length, boolean prefix) {
+            mDocument = document;
+            mPath = path;
+            mTitle = title;
+            mPosition = position;
+            mText = text;
+            mStart = start;
+            mLength = length;
+            mPrefix = prefix;
+        }
+
+        public int getDocument() {
+            return mDocument;
+        }
+
+        /**
+         * 法规的 assets 路径
+         */
+        public String getPath() {
+            return mPath;
+        }
+
+        public String getTitle() {
+            return mTitle;
+        }
+
+        /**
+         * 目录在 contents 中的下标，标题为 {@link #TITLE}
+         */
+        public int getPosition() {
+            return mPosition;
+        }
+
+        public boolean isTitle() {
+            return mPosition == TITLE;
+        }
+
+        /**
+         * 命中的标题或目录原文
+         */
+        public String getText() {
+            return mText;
+        }
+
+        /**
+         * 匹配在原文中的起始下标
+         */
+        public int getStart() {
+            return mStart;
+        }
+
+        /**
+         * 匹配覆盖的字数
+         */
+        public int getLength() {
+            return mLength;
+        }
+
+        /**
+         * 是否从标题开头或目录序号之后开始匹配
+         */
+        public boolean isPrefix() {
+            return mPrefix;
+        }
+    }
+
+    /**
+     * 构建期逐篇加入法规标题与目录，条目 id 按加入顺序分配
+     */
+    public static final class Builder {
+
+        /**
+         * 去掉序号后不足该字数的目录（总则、附则等）几乎每部法规都有，不收录
+         */
+        private static final int MIN_HEADLINE = 3;
+
+        private final PinyinTable mTable;
+        private final List<String> mPaths = new ArrayList<>();
+        private final List<String> mTitles = new ArrayList<>();
+        private final List<Entry> mEntries = new ArrayList<>();
+
+        public Builder(PinyinTable table) {
+            if (table.getSyllableCount() >= NONE) {
+                throw new IllegalArgumentException("Too many syllables: " + table.getSyllableCount());
+            }
+            mTable = table;
+        }
+
+        /**
+         * 加入法规，标题同时作为一个条目
+         *
+         * @return 法规 id
+         */
+        public int addDocument(String path, String title) {
+            mPaths.add(path);
+            mTitles.add(title);
+            int doc = mPaths.size() - 1;
+            mEntries.add(new Entry(doc, TITLE, 0, title, mTable.annotate(title)));
+            return doc;
+        }
+
+        /**
+         * 加入一条目录
+         *
+         * @param doc      {@link #addDocument(String, String)} 返回的 id
+         * @param position 目录在 contents 中的下标
+         */
+        public void addHeadline(int doc, int position, String headline) {
+            if (doc < 0 || doc >= mPaths.size()) {
+                throw new IllegalArgumentException("Unknown document " + doc);
+            }
+            int from = headlineStart(headline);
+            if (headline.length() - from < MIN_HEADLINE) {
+                return;
+            }
+            mEntries.add(new Entry(doc, position, from, headline, mTable.annotate(headline)));
+        }
+
+        public void write(DataOutput out) throws IOException {
+            if (mEntries.size() > 1 << 23) {
+                throw new IOException("Too many entries: " + mEntries.size());
+            }
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(mTable.getSyllableCount());
+            for (int i = 0; i < mTable.getSyllableCount(); i++) {
+                writeString(mTable.getSyllable(i), out);
+            }
+            out.writeInt(mPaths.size());
+            for (int i = 0; i < mPaths.size(); i++) {
+                writeString(mPaths.get(i), out);
+                writeString(mTitles.get(i), out);
+            }
+
+            out.writeInt(mEntries.size());
+            for (Entry entry : mEntries) {
+                out.writeInt(entry.mDoc);
+            }
+            for (Entry entry : mEntries) {
+                out.writeInt(entry.mPosition);
+            }
+            for (Entry entry : mEntries) {
+                out.writeInt(entry.mFrom);
+            }
+            int offset = 0;
+            for (Entry entry : mEntries) {
+                out.writeInt(offset);
+                offset += entry.mSyllables.length;
+            }
+            out.writeInt(offset);
+            for (Entry entry : mEntries) {
+                for (int syllable : entry.mSyllables) {
+                    out.writeShort(syllable == PinyinTable.NONE ? NONE : syllable);
+                }
+            }
+            List<byte[]> texts = new ArrayList<>(mEntries.size());
+            offset = 0;
+            for (Entry entry : mEntries) {
+                byte[] bytes = entry.mText.getBytes(StandardCharsets.UTF_8);
+                texts.add(bytes);
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : texts) {
+                out.write(bytes);
+            }
+
+            for (boolean title : new boolean[]{true, false}) {
+                writeTrie(title, FULL, out);
+                writeTrie(title, INITIALS, out);
+            }
+        }
+
+        private void writeTrie(boolean title, int type, DataOutput out) throws IOException {
+            List<Integer> keys = new ArrayList<>();
+            List<String> letters = new ArrayList<>();
+            for (int e = 0; e < mEntries.size(); e++) {
+                Entry entry = mEntries.get(e);
+                if ((entry.mPosition == TITLE) != title) {
+                    continue;
+                }
+                // 标题从每个字起都可匹配，如 "xingfa" 找到 中华人民共和国刑法；目录只从序号之后开始
+                int end = Math.min(title ? entry.mSyllables.length : entry.mFrom + 1, MAX_START + 1);
+                for (int start = entry.mFrom; start < end; start++) {
+                    if (entry.mSyllables[start] != PinyinTable.NONE) {
+                        keys.add(e << 8 | start);
+                        letters.add(letters(entry.mSyllables, start, type));
+                    }
+                }
+            }
+            // 字母串相同时按键排序，同样的输入总是得到同样的输出
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int c = letters.get(a).compareTo(letters.get(b));
+                return c != 0 ? c : Integer.compare(keys.get(a), keys.get(b));
+            });
+            String[] sorted = new String[order.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = letters.get(order[i]);
+            }
+
+            // 层序展开，{ label, childCount, firstChild, low, high, depth }
+            List<int[]> nodes = new ArrayList<>();
+            nodes.add(new int[]{0, 0, 0, 0, sorted.length, 0});
+            for (int n = 0; n < nodes.size(); n++) {
+                int[] node = nodes.get(n);
+                int low = node[3];
+                int high = node[4];
+                int depth = node[5];
+                if (high - low <= BURST) {
+                    continue;
+                }
+                // 字母串在此结束的键排在最前，留在本节点
+                int k = low;
+                while (k < high && sorted[k].length() <= depth) {
+                    k++;
+                }
+                if (k == high) {
+                    continue;
+                }
+                node[2] = nodes.size();
+                while (k < high) {
+                    char label = sorted[k].charAt(depth);
+                    int j = k + 1;
+                    while (j < high && sorted[j].charAt(depth) == label) {
+                        j++;
+                    }
+                    nodes.add(new int[]{label, 0, 0, k, j, depth + 1});
+                    node[1]++;
+                    k = j;
+                }
+            }
+
+            out.writeInt(order.length);
+            for (int i : order) {
+                out.writeInt(keys.get(i));
+            }
+            out.writeInt(nodes.size());
+            for (int[] node : nodes) {
+                out.writeInt(node[0] << 16 | node[1]);
+            }
+            for (int field = 2; field <= 4; field++) {
+                for (int[] node : nodes) {
+                    out.writeInt(node[field]);
+                }
+            }
+        }
+
+        /**
+         * 从 {@code start} 起连续有读音的字拼成的字母串，与运行期逐个现算的字母一致
+         */
+        private String letters(int[] syllables, int start, int type) {
+            StringBuilder letters = new StringBuilder();
+            for (int i = start; i < syllables.length && syllables[i] != PinyinTable.NONE; i++) {
+                String syllable = mTable.getSyllable(syllables[i]);
+                if (type == INITIALS) {
+                    letters.append(syllable.charAt(0));
+                } else {
+                    letters.append(syllable);
+                }
+            }
+            return letters.toString();
+        }
+
+        private static void writeString(String string, DataOutput out) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IOException("Name too long: " + string);
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static final class Entry {
+
+        private final int mDoc;
+        private final int mPosition;
+        private final int mFrom;
+        private final String mText;
+        private final int[] mSyllables;
+
+        Entry(int doc, int position, int from, String text, int[] syllables) {
+            mDoc = doc;
+            mPosition = position;
+            mFrom = from;
+            mText = text;
+            mSyllables = syllables;
+        }
+    }
+}
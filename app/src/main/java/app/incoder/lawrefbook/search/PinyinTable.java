@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.search;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * PinyinTable
+ * <p>
+ * 汉字到不带声调拼音的对照表，构建期读取嵌入的文本表，为 {@link PinyinIndex.Builder} 标注标题与目录的读音：
+ * <pre>
+ * # 注释
+ * an 安桉氨…        音节开头：以该音节为默认读音的汉字
+ * 银行 yin hang     汉字开头：词语逐字的读音，最长匹配优先于单字读音
+ * </pre>
+ * 音节为小写字母，ü 写作 v；音节 id 即其在字母序中的下标
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:10
+ */
+public final class PinyinTable {
+
+    /**
+     * 没有读音的字符，如标点、数字、字母
+     */
+    public static final int NONE = -1;
+
+    private final String[] mSyllables;
+    private final Map<Character, Integer> mChars;
+    private final Map<String, int[]> mPhrases;
+    private final int mLongestPhrase;
+
+    private PinyinTable(String[] syllables, Map<Character, Integer> chars, Map<String, int[]> phrases, int longestPhrase) {
+        mSyllables = syllables;
+        mChars = chars;
+        mPhrases = phrases;
+        mLongestPhrase = longestPhrase;
+    }
+
+    public static PinyinTable read(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<String[]> lines = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        TreeSet<String> syllables = new TreeSet<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            if (fields.length < 2) {
+                throw new IOException("Malformed pinyin table line " + lineNumber + ": " + line);
+            }
+            if (isSyllable(fields[0])) {
+                syllables.add(fields[0]);
+            }
+            lines.add(fields);
+            lineNumbers.add(lineNumber);
+        }
+
+        String[] names = syllables.toArray(new String[0]);
+        Map<Character, Integer> chars = new HashMap<>();
+        Map<String, int[]> phrases = new HashMap<>();
+        int longestPhrase = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String[] fields = lines.get(i);
+            int number = lineNumbers.get(i);
+            if (isSyllable(fields[0])) {
+                int syllable = Arrays.binarySearch(names, fields[0]);
+                for (int f = 1; f < fields.length; f++) {
+                    for (int c = 0; c < fields[f].length(); c++) {
+                        if (chars.put(fields[f].charAt(c), syllable) != null) {
+                            throw new IOException("Duplicate character " + fields[f].charAt(c) + " on line " + number);
+                        }
+                    }
+                }
+            } else {
+                String phrase = fields[0];
+                if (phrase.length() != fields.length - 1) {
+                    throw new IOException("Phrase and syllable counts differ on line " + number + ": " + phrase);
+                }
+                int[] ids = new int[phrase.length()];
+                for (int f = 1; f < fields.length; f++) {
+                    ids[f - 1] = Arrays.binarySearch(names, fields[f]);
+                    if (ids[f - 1] < 0) {
+                        throw new IOException("Unknown syllable " + fields[f] + " on line " + number);
+                    }
+                }
+                phrases.put(phrase, ids);
+                longestPhrase = Math.max(longestPhrase, phrase.length());
+            }
+        }
+        return new PinyinTable(names, chars, phrases, longestPhrase);
+    }
+
+    private static boolean isSyllable(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) < 'a' || field.charAt(i) > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getSyllableCount() {
+        return mSyllables.length;
+    }
+
+    public String getSyllable(int syllable) {
+        return mSyllables[syllable];
+    }
+
+    /**
+     * 单字的默认读音，没有时为 {@link #NONE}
+     */
+    public int get(char c) {
+        Integer syllable = mChars.get(c);
+        return syllable != null ? syllable : NONE;
+    }
+
+    /**
+     * 逐字标注读音，词语按最长匹配优先
+     *
+     * @return 与 {@code text} 等长，没有读音的字符为 {@link #NONE}
+     */
+    public int[] annotate(CharSequence text) {
+        int length = text.length();
+        int[] syllables = new int[length];
+        int i = 0;
+        while (i < length) {
+            int matched = 0;
+            for (int n = Math.min(mLongestPhrase, length - i); n >= 2; n--) {
+                int[] phrase = mPhrases.get(text.subSequence(i, i + n).toString());
+                if (phrase != null) {
+                    System.arraycopy(phrase, 0, syllables, i, n);
+                    matched = n;
+                    break;
+                }
+            }
+            if (matched == 0) {
+                syllables[i] = get(text.charAt(i));
+                matched = 1;
+            }
+            i += matched;
+        }
+        return syllables;
+    }
+}
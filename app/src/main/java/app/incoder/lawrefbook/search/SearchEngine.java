@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * SearchEngine
+ * <p>
+ * 在 {@link SearchIndex} 上检索：查询切成二元组后各自取倒排表，从 df 最小的开始依次求交，
+ * 只有包含全部词项的条目才计分。得分为 BM25（k1 = 1.2，b = 0.75），以条目字数做长度归一化，
+ * 用小顶堆保留前 limit 个。二元组求交不校验词项的相对位置，"法律" 与 "律法" 在同一条中出现时也会命中
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public final class SearchEngine {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    /**
+     * 得分降序，同分时条目靠前的在前
+     */
+    private static final Comparator<Hit> RANKING = (a, b) -> {
+        int compare = Double.compare(b.mScore, a.mScore);
+        return compare != 0 ? compare : Integer.compare(a.mUnit, b.mUnit);
+    };
+
+    private final SearchIndex mIndex;
+
+    public SearchEngine(SearchIndex index) {
+        mIndex = index;
+    }
+
+    public SearchIndex getIndex() {
+        return mIndex;
+    }
+
+    /**
+     * @param limit 最多返回的命中数
+     */
+    public Result search(CharSequence query, int limit) throws IOException {
+        int[] terms = SearchTokenizer.queryTerms(query);
+        if (terms.length == 0 || limit <= 0) {
+            return Result.EMPTY;
+        }
+        Clause[] clauses = new Clause[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            clauses[i] = clause(terms[i]);
+            if (clauses[i].mUnits.length == 0) {
+                return Result.EMPTY;
+            }
+        }
+        Arrays.sort(clauses, (a, b) -> Integer.compare(a.mUnits.length, b.mUnits.length));
+
+        double unitCount = mIndex.getUnitCount();
+        for (Clause clause : clauses) {
+            double df = clause.mUnits.length;
+            clause.mIdf = Math.log(1 + (unitCount - df + 0.5) / (df + 0.5));
+        }
+
+        double averageLength = Math.max(mIndex.getAverageUnitLength(), 1);
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, 256), Collections.reverseOrder(RANKING));
+        int total = 0;
+        Clause rarest = clauses[0];
+        // 其余词项的游标，候选按单元 id 升序，游标只需前进
+        int[] cursors = new int[clauses.length];
+        candidates:
+        for (int i = 0; i < rarest.mUnits.length; i++) {
+            int unit = rarest.mUnits[i];
+            for (int c = 1; c < clauses.length; c++) {
+                int[] units = clauses[c].mUnits;
+                int j = advance(units, cursors[c], unit);
+                cursors[c] = j;
+                if (j == units.length) {
+                    break candidates;
+                }
+                if (units[j] != unit) {
+                    continue candidates;
+                }
+            }
+            total++;
+            double norm = K1 * (1 - B + B * mIndex.getUnitLength(unit) / averageLength);
+            double score = 0;
+            for (int c = 0; c < clauses.length; c++) {
+                int tf = clauses[c].mTfs[c == 0 ? i : cursors[c]];
+                score += clauses[c].mIdf * tf * (K1 + 1) / (tf + norm);
+            }
+            if (top.size() < limit) {
+                top.add(hit(unit, score));
+            } else if (score > top.peek().mScore) {
+                top.poll();
+                top.add(hit(unit, score));
+            }
+        }
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        return new Result(Collections.unmodifiableList(hits), total);
+    }
+
+    /**
+     * 在 {@code units[from..]} 中倍增再二分，找到第一个不小于 {@code target} 的下标
+     */
+    static int advance(int[] units, int from, int target) {
+        if (from >= units.length || units[from] >= target) {
+            return from;
+        }
+        int step = 1;
+        int low = from;
+        int high = from + 1;
+        while (high < units.length && units[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, units.length);
+        // units[low] < target，结果在 (low, high]
+        int i = Arrays.binarySearch(units, low + 1, high, target);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    private Hit hit(int unit, double score) {
+        int doc = mIndex.getUnitDocument(unit);
+        return new Hit(unit, doc, mIndex.getDocumentPath(doc), mIndex.getDocumentTitle(doc),
+                mIndex.getUnitPosition(unit), score);
+    }
+
+    /**
+     * 单个查询词项的倒排表；单字查询合并该字开头的全部词项，同一条目的词频相加
+     */
+    private Clause clause(int term) throws IOException {
+        if (!SearchTokenizer.prefix(term)) {
+            int index = mIndex.findTerm(term);
+            if (index == SearchIndex.NOT_FOUND) {
+                return new Clause(new int[0], new int[0]);
+            }
+            int df = mIndex.getDocumentFrequency(index);
+            int[] units = new int[df];
+            int[] tfs = new int[df];
+            mIndex.readPostings(index, units, tfs, 0);
+            return new Clause(units, tfs);
+        }
+        char first = (char) (term >>> 16);
+        int start = mIndex.getPrefixStart(first);
+        int end = mIndex.getPrefixEnd(first);
+        int size = 0;
+        for (int index = start; index < end; index++) {
+            size += mIndex.getDocumentFrequency(index);
+        }
+        int[] units = new int[size];
+        int[] tfs = new int[size];
+        int n = 0;
+        for (int index = start; index < end; index++) {
+            mIndex.readPostings(index, units, tfs, n);
+            n += mIndex.getDocumentFrequency(index);
+        }
+        if (end - start <= 1) {
+            return new Clause(units, tfs);
+        }
+        // 单元 id 与词频打包后排序，再合并相同单元
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = (long) units[i] << 32 | tfs[i];
+        }
+        Arrays.sort(packed);
+        n = 0;
+        for (int i = 0; i < size; i++) {
+            int unit = (int) (packed[i] >>> 32);
+            int tf = (int) packed[i];
+            if (n > 0 && units[n - 1] == unit) {
+                tfs[n - 1] += tf;
+            } else {
+                units[n] = unit;
+                tfs[n] = tf;
+                n++;
+            }
+        }
+        return new Clause(Arrays.copyOf(units, n), Arrays.copyOf(tfs, n));
+    }
+
+    private static final class Clause {
+
+        private final int[] mUnits;
+        private final int[] mTfs;
+        private double mIdf;
+
+        Clause(int[] units, int[] tfs) {
+            mUnits = units;
+            mTfs = tfs;
+        }
+    }
+
+    /**
+     * 检索结果
+     */
+    public static final class Result {
+
+        static final Result EMPTY = new Result(Collections.emptyList(), 0);
+
+        private final List<Hit> mHits;
+        private final int mTotal;
+
+        Result(List<Hit> hits, int total) {
+            mHits = hits;
+            mTotal = total;
+        }
+
+        /**
+         * 得分最高的命中，按得分降序
+         */
+        public List<Hit> getHits() {
+            return mHits;
+        }
+
+        /**
+         * 命中的条目总数，可能多于 {@link #getHits()}
+         */
+        public int getTotal() {
+            return mTotal;
+        }
+    }
+
+    /**
+     * 命中的条目
+     */
+    public static final class Hit {
+
+        private final int mUnit;
+        private final int mDocument;
+        private final String mPath;
+        private final String mTitle;
+        private final int mPosition;
+        private final double mScore;
+
+        Hit(int unit, int document, String path, String title, int position, double score) {
+            mUnit = unit;
+            mDocument = document;
+            mPath = path;
+            mTitle = title;
+            mPosition = position;
+            mScore = score;
+        }
+
+        public int getUnit() {
+            return mUnit;
+        }
+
+        public int getDocument() {
+            return mDocument;
+        }
+
+        /**
+         * 法规的 assets 路径
+         */
+        public String getPath() {
+            return mPath;
+        }
+
+        public String getTitle() {
+            return mTitle;
+        }
+
+        /**
+         * 条目在法规 contents 中的下标
+         */
+        public int getPosition() {
+            return mPosition;
+        }
+
+        public double getScore() {
+            return mScore;
+        }
+    }
+}
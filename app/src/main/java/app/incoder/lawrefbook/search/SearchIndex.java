@@ -0,0 +1,432 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SearchIndex
+ * <p>
+ * 全部法规正文的倒排索引，构建期由 {@link Builder} 写出，运行期 mmap 后只读。
+ * 检索单元为一条 {@link app.incoder.lawrefbook.model.Type#CONTENT_TYPE} 条目，记录所属法规、条目位置与字数；
+ * 词项见 {@link SearchTokenizer}，倒排表按单元 id 升序，差值与词频均为变长字节编码（每字节 7 位，最高位表示后续还有字节）：
+ * <pre>
+ * int    magic 'LRBS'
+ * short  version
+ * int    docCount, { string path, string title } * docCount
+ * int    unitCount, int byteLength, { vbyte docDelta, vbyte position, vbyte length } * unitCount
+ * int    termCount, int[termCount] term, int[termCount] df, int[termCount] offset
+ * int    byteLength, { vbyte unitDelta, vbyte tf } * df 依次存放各词项的倒排表
+ * string := { short byteLength, byte[] utf8 }
+ * </pre>
+ * 词项按 int 有符号升序排列，运行期直接在映射的缓冲上二分查找，不复制到 Java 堆
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public final class SearchIndex {
+
+    /**
+     * 索引在 assets 中的路径
+     */
+    public static final String ASSET_PATH = "compiled/search.bin";
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int MAGIC = 0x4C524253;
+    private static final short VERSION = 1;
+
+    private final String[] mDocPaths;
+    private final String[] mDocTitles;
+    private final int[] mUnitDoc;
+    private final int[] mUnitPosition;
+    private final int[] mUnitLength;
+    private final double mAverageLength;
+    private final IntBuffer mTerms;
+    private final IntBuffer mDfs;
+    private final IntBuffer mOffsets;
+    private final ByteBuffer mPostings;
+
+    private SearchIndex(String[] docPaths, String[] docTitles, int[] unitDoc, int[] unitPosition, int[] unitLength,
+                        IntBuffer terms, IntBuffer dfs, IntBuffer offsets, ByteBuffer postings) {
+        mDocPaths = docPaths;
+        mDocTitles = docTitles;
+        mUnitDoc = unitDoc;
+        mUnitPosition = unitPosition;
+        mUnitLength = unitLength;
+        long total = 0;
+        for (int length : unitLength) {
+            total += length;
+        }
+        mAverageLength = unitLength.length == 0 ? 0 : (double) total / unitLength.length;
+        mTerms = terms;
+        mDfs = dfs;
+        mOffsets = offsets;
+        mPostings = postings;
+    }
+
+    /**
+     * 从 {@code buffer} 的当前 position 读取，通常是 mmap 的 assets
+     */
+    public static SearchIndex read(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (in.remaining() < 4 || in.getInt() != MAGIC) {
+                throw new IOException("Not a search index");
+            }
+            short version = in.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported search index version " + version);
+            }
+            int docCount = count(in, 4);
+            String[] paths = new String[docCount];
+            String[] titles = new String[docCount];
+            for (int i = 0; i < docCount; i++) {
+                paths[i] = readString(in);
+                titles[i] = readString(in);
+            }
+
+            int unitCount = count(in, 3);
+            ByteBuffer units = slice(in, count(in, 1));
+            int[] unitDoc = new int[unitCount];
+            int[] unitPosition = new int[unitCount];
+            int[] unitLength = new int[unitCount];
+            int doc = 0;
+            for (int i = 0; i < unitCount; i++) {
+                doc += readVarInt(units);
+                if (doc >= docCount) {
+                    throw new IOException("Corrupt search index unit " + i);
+                }
+                unitDoc[i] = doc;
+                unitPosition[i] = readVarInt(units);
+                unitLength[i] = readVarInt(units);
+            }
+
+            int termCount = count(in, 12);
+            IntBuffer terms = slice(in, termCount * 4).asIntBuffer();
+            IntBuffer dfs = slice(in, termCount * 4).asIntBuffer();
+            IntBuffer offsets = slice(in, termCount * 4).asIntBuffer();
+            ByteBuffer postings = slice(in, count(in, 1));
+            return new SearchIndex(paths, titles, unitDoc, unitPosition, unitLength, terms, dfs, offsets, postings);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated search index", e);
+        }
+    }
+
+    /**
+     * 读取元素个数，并按每个元素至少 {@code minBytes} 字节校验剩余长度
+     */
+    private static int count(ByteBuffer in, int minBytes) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || (long) count * minBytes > in.remaining()) {
+            throw new IOException("Truncated search index");
+        }
+        return count;
+    }
+
+    private static ByteBuffer slice(ByteBuffer in, int length) {
+        ByteBuffer slice = in.slice();
+        slice.limit(length);
+        in.position(in.position() + length);
+        return slice.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int readVarInt(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public int getDocumentCount() {
+        return mDocPaths.length;
+    }
+
+    /**
+     * 法规的 assets 路径，如 Laws/刑法/刑法.md
+     */
+    public String getDocumentPath(int doc) {
+        return mDocPaths[doc];
+    }
+
+    public String getDocumentTitle(int doc) {
+        return mDocTitles[doc];
+    }
+
+    public int getUnitCount() {
+        return mUnitDoc.length;
+    }
+
+    public int getUnitDocument(int unit) {
+        return mUnitDoc[unit];
+    }
+
+    /**
+     * 条目在法规 contents 中的下标，与 {@link app.incoder.lawrefbook.model.CompactArticle} 的位置一致
+     */
+    public int getUnitPosition(int unit) {
+        return mUnitPosition[unit];
+    }
+
+    /**
+     * 条目字数
+     */
+    public int getUnitLength(int unit) {
+        return mUnitLength[unit];
+    }
+
+    public double getAverageUnitLength() {
+        return mAverageLength;
+    }
+
+    public int getTermCount() {
+        return mTerms.limit();
+    }
+
+    /**
+     * 词项在词表中的下标，不存在时为 {@link #NOT_FOUND}
+     */
+    public int findTerm(int term) {
+        int i = lowerBound(term);
+        return i < mTerms.limit() && mTerms.get(i) == term ? i : NOT_FOUND;
+    }
+
+    /**
+     * 以 {@code first} 开头的词项的下标区间起点（含）
+     */
+    public int getPrefixStart(char first) {
+        return lowerBound(first << 16);
+    }
+
+    /**
+     * 以 {@code first} 开头的词项的下标区间终点（不含）
+     */
+    public int getPrefixEnd(char first) {
+        // 0x8000 以上的字打包后为负数，排在前面；0x7FFF 之后即词表末尾
+        return first == 0x7FFF ? mTerms.limit() : lowerBound((first + 1) << 16);
+    }
+
+    /**
+     * 第一个不小于 {@code term} 的下标
+     */
+    private int lowerBound(int term) {
+        int low = 0;
+        int high = mTerms.limit();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mTerms.get(mid) < term) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int getTerm(int index) {
+        return mTerms.get(index);
+    }
+
+    /**
+     * 包含该词项的单元数
+     */
+    public int getDocumentFrequency(int index) {
+        return mDfs.get(index);
+    }
+
+    /**
+     * 按单元 id 升序解码倒排表
+     *
+     * @param units 长度不小于 df
+     * @param tfs   长度不小于 df
+     * @param from  写入的起始下标
+     */
+    public void readPostings(int index, int[] units, int[] tfs, int from) throws IOException {
+        int df = mDfs.get(index);
+        ByteBuffer in = mPostings.duplicate();
+        in.position(mOffsets.get(index));
+        int unit = 0;
+        try {
+            for (int i = 0; i < df; i++) {
+                unit += readVarInt(in);
+                units[from + i] = unit;
+                tfs[from + i] = readVarInt(in);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated postings", e);
+        }
+    }
+
+    /**
+     * 构建期逐篇加入法规与条目，单元 id 按加入顺序分配
+     */
+    public static final class Builder {
+
+        private final List<String> mPaths = new ArrayList<>();
+        private final List<String> mTitles = new ArrayList<>();
+        private final Map<Integer, Postings> mPostings = new HashMap<>();
+        private final VarIntBuffer mUnits = new VarIntBuffer();
+        private int mUnitCount;
+        private int mLastDoc;
+
+        /**
+         * @return 法规 id
+         */
+        public int addDocument(String path, String title) {
+            mPaths.add(path);
+            mTitles.add(title);
+            return mPaths.size() - 1;
+        }
+
+        /**
+         * 加入一个条目，同一法规的条目须连续加入
+         *
+         * @param doc      {@link #addDocument(String, String)} 返回的 id
+         * @param position 条目在 contents 中的下标
+         */
+        public void addUnit(int doc, int position, CharSequence text) {
+            if (doc < mLastDoc || doc >= mPaths.size()) {
+                throw new IllegalArgumentException("Units must be added in document order: " + doc);
+            }
+            int unit = mUnitCount++;
+            mUnits.write(doc - mLastDoc);
+            mUnits.write(position);
+            mUnits.write(text.length());
+            mLastDoc = doc;
+
+            int[] terms = SearchTokenizer.indexTerms(text, 0, text.length());
+            Arrays.sort(terms);
+            for (int i = 0; i < terms.length; ) {
+                int j = i + 1;
+                while (j < terms.length && terms[j] == terms[i]) {
+                    j++;
+                }
+                Postings postings = mPostings.get(terms[i]);
+                if (postings == null) {
+                    postings = new Postings();
+                    mPostings.put(terms[i], postings);
+                }
+                postings.add(unit, j - i);
+                i = j;
+            }
+        }
+
+        public void write(DataOutput out) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(mPaths.size());
+            for (int i = 0; i < mPaths.size(); i++) {
+                writeString(mPaths.get(i), out);
+                writeString(mTitles.get(i), out);
+            }
+            out.writeInt(mUnitCount);
+            out.writeInt(mUnits.mLength);
+            out.write(mUnits.mBytes, 0, mUnits.mLength);
+
+            int[] terms = new int[mPostings.size()];
+            int n = 0;
+            for (Integer term : mPostings.keySet()) {
+                terms[n++] = term;
+            }
+            Arrays.sort(terms);
+            out.writeInt(terms.length);
+            for (int term : terms) {
+                out.writeInt(term);
+            }
+            for (int term : terms) {
+                out.writeInt(mPostings.get(term).mDf);
+            }
+            int offset = 0;
+            for (int term : terms) {
+                out.writeInt(offset);
+                offset += mPostings.get(term).mBytes.mLength;
+            }
+            out.writeInt(offset);
+            for (int term : terms) {
+                VarIntBuffer bytes = mPostings.get(term).mBytes;
+                out.write(bytes.mBytes, 0, bytes.mLength);
+            }
+        }
+
+        private static void writeString(String string, DataOutput out) throws IOException {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IOException("Name too long: " + string);
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * 构建期单个词项的倒排表，边加入边编码
+     */
+    private static final class Postings {
+
+        private final VarIntBuffer mBytes = new VarIntBuffer();
+        private int mDf;
+        private int mLastUnit;
+
+        void add(int unit, int tf) {
+            mBytes.write(unit - mLastUnit);
+            mBytes.write(tf);
+            mLastUnit = unit;
+            mDf++;
+        }
+    }
+
+    private static final class VarIntBuffer {
+
+        private byte[] mBytes = new byte[8];
+        private int mLength;
+
+        void write(int value) {
+            if (mLength + 5 > mBytes.length) {
+                mBytes = Arrays.copyOf(mBytes, mBytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                mBytes[mLength++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            mBytes[mLength++] = (byte) value;
+        }
+    }
+}
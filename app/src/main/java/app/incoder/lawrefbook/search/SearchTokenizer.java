@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import java.util.Arrays;
+
+/**
+ * SearchTokenizer
+ * <p>
+ * 全文检索的分词：连续的字母、数字（含汉字）为一段，段内按相邻两字切成重叠的二元组，不依赖词典。
+ * 全角字母数字转为半角，大写转为小写。每个词项打包为 int：{@code first << 16 | second}，
+ * 同一首字的词项在有序词表中连续，单字查询按首字取一段区间。
+ * <p>
+ * 建索引时每段末字额外产生 {@code last << 16} 的结尾词项，保证每个字都作为某个词项的首字出现；
+ * 查询时不产生结尾词项，"刑法" 只需命中二元组 "刑法"
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 建索引用的词项，按出现顺序，可能重复
+     */
+    public static int[] indexTerms(CharSequence text, int start, int end) {
+        int[] terms = new int[Math.max(end - start, 0)];
+        int count = 0;
+        char previous = 0;
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? normalize(text.charAt(i)) : 0;
+            if (c != 0) {
+                if (previous != 0) {
+                    terms[count++] = pack(previous, c);
+                }
+            } else if (previous != 0) {
+                terms[count++] = pack(previous, (char) 0);
+            }
+            previous = c;
+        }
+        return count == terms.length ? terms : Arrays.copyOf(terms, count);
+    }
+
+    /**
+     * 查询用的词项，已去重。只有一个字的段以 {@link #prefix(int)} 为真的首字词项表示，
+     * 检索时匹配该字开头的全部词项
+     */
+    public static int[] queryTerms(CharSequence query) {
+        int end = query.length();
+        int[] terms = new int[end];
+        int count = 0;
+        int runStart = 0;
+        char previous = 0;
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? normalize(query.charAt(i)) : 0;
+            if (c != 0) {
+                if (previous == 0) {
+                    runStart = i;
+                } else {
+                    terms[count++] = pack(previous, c);
+                }
+            } else if (previous != 0 && i - runStart == 1) {
+                terms[count++] = pack(previous, (char) 0);
+            }
+            previous = c;
+        }
+        int[] distinct = Arrays.copyOf(terms, count);
+        Arrays.sort(distinct);
+        int n = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[n++] = distinct[i];
+            }
+        }
+        return Arrays.copyOf(distinct, n);
+    }
+
+    /**
+     * 词项是否为查询中的单字，即只约束首字
+     */
+    public static boolean prefix(int term) {
+        return (term & 0xFFFF) == 0;
+    }
+
+    public static int pack(char first, char second) {
+        return first << 16 | second;
+    }
+
+    /**
+     * 词项的文本，结尾词项只有一个字
+     */
+    public static String toString(int term) {
+        char first = (char) (term >>> 16);
+        char second = (char) term;
+        return second == 0 ? String.valueOf(first) : new String(new char[]{first, second});
+    }
+
+    /**
+     * 参与索引的字符规范化后的形式，分隔符为 0
+     */
+    static char normalize(char c) {
+        if (c >= '！' && c <= '～') {
+            c = (char) (c - 0xFEE0);
+        }
+        if (!Character.isLetterOrDigit(c)) {
+            return 0;
+        }
+        return Character.toLowerCase(c);
+    }
+}
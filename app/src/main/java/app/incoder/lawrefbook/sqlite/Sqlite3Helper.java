@@ -1,49 +0,0 @@
-/*
- * Copyright (C) 2022 The Jerry xu Open Source Project
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package app.incoder.lawrefbook.sqlite;
-
-import android.content.Context;
-import android.database.sqlite.SQLiteDatabase;
-import android.database.sqlite.SQLiteOpenHelper;
-
-import androidx.annotation.Nullable;
-
-/**
- * Sqlite3Helper
- *
- * @author : Jerry xu
- * @since : 2022/6/5 18:03
- */
-public class Sqlite3Helper extends SQLiteOpenHelper {
-
-    private static final String DATABASE_NAME = "db.sqlite3";
-    private static final int DATABASE_VERSION = 1;
-
-    public Sqlite3Helper(@Nullable Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
-    }
-
-    @Override
-    public void onCreate(SQLiteDatabase db) {
-
-    }
-
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-
-    }
-}
@@ -40,4 +40,6 @@ public class Category implements Serializable {
     private Integer isSubFolder;
     private String group;
     private Integer order;
+    /*** CatalogIndex 中的分类 id */
+    private Integer catalogId;
 }
@@ -51,5 +51,7 @@ public class Law {
     private String subtitle;
     /*** 公布日期 */
     private String validFrom;
+    /*** CatalogIndex 中的法规 id */
+    private Integer catalogId;
 
 }
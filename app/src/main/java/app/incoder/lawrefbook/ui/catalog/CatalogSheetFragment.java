@@ -25,17 +25,17 @@ import android.widget.ListView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.DialogFragment;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import app.incoder.lawrefbook.R;
-import app.incoder.lawrefbook.model.Article;
 import app.incoder.lawrefbook.toc.FileBean;
 import app.incoder.lawrefbook.toc.TreeListViewAdapter;
+import app.incoder.lawrefbook.ui.content.ArticleViewModel;
 import app.incoder.lawrefbook.ui.content.ContentActivity;
 
 /**
@@ -46,35 +46,18 @@ import app.incoder.lawrefbook.ui.content.ContentActivity;
  */
 public class CatalogSheetFragment extends BottomSheetDialogFragment {
 
-    private static final String ARTICLE_INFO = "article_info";
-    private static ContentActivity mActivity;
     private TreeListViewAdapter<FileBean> mAdapter;
     private List<FileBean> mCatalogList;
 
-    public static CatalogSheetFragment newInstance(Article article, ContentActivity activity) {
-        mActivity = activity;
+    /**
+     * 目录取自宿主 ContentActivity 的 {@link ArticleViewModel}，不经参数传递文章
+     */
+    public static CatalogSheetFragment newInstance() {
         CatalogSheetFragment mBottomSheet = new CatalogSheetFragment();
-        Bundle args = new Bundle();
-        args.putSerializable(ARTICLE_INFO, article);
-        mBottomSheet.setArguments(args);
         mBottomSheet.setStyle(DialogFragment.STYLE_NO_TITLE, R.style.BottomSheetDialogTheme);
         return mBottomSheet;
     }
 
-    @Override
-    public void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (getArguments() != null) {
-            mCatalogList = new ArrayList<>();
-            Article article = (Article) getArguments().getSerializable(ARTICLE_INFO);
-            mCatalogList = article.getToc().stream().map(t -> FileBean.builder().id(t.getId())
-                    .parentId(t.getParentId())
-                    .name(t.getTitle())
-                    .position(t.getPosition()).build()).collect(Collectors.toList());
-            mCatalogList.forEach(System.out::println);
-        }
-    }
-
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
                              Bundle savedInstanceState) {
@@ -86,16 +69,30 @@ public class CatalogSheetFragment extends BottomSheetDialogFragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         ListView mTree = requireView().findViewById(R.id.lv_toc);
-        try {
-            mAdapter = new SimpleTreeAdapter<>(mTree, requireContext(), mCatalogList, 0);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        }
-        mTree.setAdapter(mAdapter);
-        mAdapter.setOnTreeNodeClickListener((node, position) -> {
-            if (node.isLeaf()) {
-                mActivity.smoothScrollToPosition(node.getPosition());
+        // 进程重建后弹窗可能先于文章恢复，加载完成后再建立目录树
+        new ViewModelProvider(requireActivity()).get(ArticleViewModel.class).getArticle().observe(getViewLifecycleOwner(), article -> {
+            if (article == null) {
+                return;
+            }
+            mCatalogList = new ArrayList<>(article.getTocCount());
+            for (int i = 0; i < article.getTocCount(); i++) {
+                mCatalogList.add(FileBean.builder().id(article.getTocId(i))
+                        .parentId(article.getTocParentId(i))
+                        .name(article.getTocTitle(i))
+                        .position(article.getTocPosition(i)).build());
+            }
+            try {
+                mAdapter = new SimpleTreeAdapter<>(mTree, requireContext(), mCatalogList, 0);
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+                return;
             }
+            mTree.setAdapter(mAdapter);
+            mAdapter.setOnTreeNodeClickListener((node, position) -> {
+                if (node.isLeaf()) {
+                    ((ContentActivity) requireActivity()).smoothScrollToPosition(node.getPosition());
+                }
+            });
         });
     }
 
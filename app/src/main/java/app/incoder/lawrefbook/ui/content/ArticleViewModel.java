@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.ui.content;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import app.incoder.lawrefbook.cache.ArticleCache;
+import app.incoder.lawrefbook.cache.ArticlePrefetcher;
+import app.incoder.lawrefbook.model.CompactArticle;
+import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.parser.ArticleIndex;
+import app.incoder.lawrefbook.search.ArticleHits;
+
+/**
+ * ArticleViewModel
+ * <p>
+ * 在后台线程加载文章，Markdown 解析过程中分批发布已解析的条目，首屏文字不必等整篇解析完成。
+ * 随 ContentActivity 的配置变更保留，目录弹窗通过 Activity 作用域共享同一实例。文内检索同样在后台线程进行
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 14:30
+ */
+public class ArticleViewModel extends AndroidViewModel {
+
+    /**
+     * thread full parameters
+     * corePoolSize：2
+     * maximumPoolSize：2
+     * keepAliveTime：survival 30 seconds
+     * workQueue：LinkedBlockingQueue
+     * threadFactory：defaultThreadFactory
+     * handlerPolicy：AbortPolicy
+     */
+    private static final ThreadPoolExecutor LOAD_EXECUTOR;
+
+    static {
+        LOAD_EXECUTOR = new ThreadPoolExecutor(2,
+                2
+                , 30
+                , TimeUnit.SECONDS
+                , new LinkedBlockingQueue<>()
+                , Executors.defaultThreadFactory()
+                , new ThreadPoolExecutor.AbortPolicy());
+        LOAD_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final MutableLiveData<CompactArticle> mContents = new MutableLiveData<>();
+    private final MutableLiveData<CompactArticle> mArticle = new MutableLiveData<>();
+    private final MutableLiveData<ArticleIndex> mIndex = new MutableLiveData<>();
+    private final MutableLiveData<ArticleHits> mHits = new MutableLiveData<>();
+    /**
+     * 每次检索加一，输入过快时丢弃已过时的检索
+     */
+    private final AtomicInteger mSearchGeneration = new AtomicInteger();
+    private String mPath;
+    private Future<?> mTask;
+
+    public ArticleViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    /**
+     * 已可显示的条目，解析过程中逐步增长，每次发布的条目都是前一次的延续
+     */
+    public LiveData<CompactArticle> getContents() {
+        return mContents;
+    }
+
+    /**
+     * 完整的文章，加载完成后发布一次；无法解析时发布 null
+     */
+    public LiveData<CompactArticle> getArticle() {
+        return mArticle;
+    }
+
+    /**
+     * 条号索引，文章加载完成后在后台线程建立并发布一次
+     */
+    public LiveData<ArticleIndex> getIndex() {
+        return mIndex;
+    }
+
+    /**
+     * 文内检索结果，查询为空时发布 null
+     */
+    public LiveData<ArticleHits> getHits() {
+        return mHits;
+    }
+
+    /**
+     * 在 {@code contents} 中检索，替换之前尚未完成的检索；结果可能晚于新的查询到达，调用方按 {@link ArticleHits#getQuery()} 核对
+     */
+    public void search(@NonNull CompactArticle contents, String query) {
+        int generation = mSearchGeneration.incrementAndGet();
+        if (query == null || query.trim().isEmpty()) {
+            mHits.setValue(null);
+            return;
+        }
+        LOAD_EXECUTOR.execute(() -> {
+            if (mSearchGeneration.get() != generation) {
+                return;
+            }
+            ArticleHits hits = ArticleHits.find(contents, query);
+            if (mSearchGeneration.get() == generation) {
+                mHits.postValue(hits);
+            }
+        });
+    }
+
+    /**
+     * 开始加载，同一路径重复调用（如屏幕旋转）不会重新加载
+     */
+    public void load(@NonNull String path) {
+        if (path.equals(mPath)) {
+            return;
+        }
+        mPath = path;
+        Application application = getApplication();
+        ArticlePrefetcher.getInstance(application).recordOpen(path);
+        mTask = LOAD_EXECUTOR.submit(() -> {
+            List<Content> shown = new ArrayList<>();
+            CompactArticle article = ArticleCache.getInstance(application).get(path, batch -> {
+                shown.addAll(batch);
+                // postValue 只保留最后一次的值，每次发布完整的快照
+                mContents.postValue(CompactArticle.of(shown));
+            });
+            if (article != null) {
+                mContents.postValue(article);
+            }
+            mArticle.postValue(article);
+            if (article != null) {
+                mIndex.postValue(ArticleIndex.of(article));
+            }
+        });
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (mTask != null) {
+            mTask.cancel(false);
+        }
+    }
+}
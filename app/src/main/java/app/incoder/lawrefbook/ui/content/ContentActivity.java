@@ -25,6 +25,7 @@ import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
 import android.os.Build;
 import android.os.Bundle;
+import android.text.InputType;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.widget.EditText;
@@ -43,7 +44,6 @@ import androidx.recyclerview.selection.Selection;
 import androidx.recyclerview.selection.SelectionPredicates;
 import androidx.recyclerview.selection.SelectionTracker;
 import androidx.recyclerview.selection.StorageStrategy;
-import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.LinearSmoothScroller;
 import androidx.recyclerview.widget.RecyclerView;
@@ -56,15 +56,15 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
 import app.incoder.lawrefbook.R;
 import app.incoder.lawrefbook.databinding.ActivityContentBinding;
-import app.incoder.lawrefbook.model.Article;
 import app.incoder.lawrefbook.model.Classify;
-import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.CompactArticle;
+import app.incoder.lawrefbook.parser.ArticleIndex;
+import app.incoder.lawrefbook.search.ArticleHits;
 import app.incoder.lawrefbook.storage.Libraries;
 import app.incoder.lawrefbook.storage.LibrariesViewModel;
 import app.incoder.lawrefbook.ui.catalog.CatalogSheetFragment;
@@ -83,10 +83,13 @@ public class ContentActivity extends AppCompatActivity {
 
     public static String Title = "title";
     public static String Path = "path";
-    public static String Article = "article";
     public static String Folder = "folder";
     public static String ArticleId = "articleId";
     public static String FileType = "file_type";
+    /**
+     * 打开后定位到的条目位置，如全文检索命中的条目
+     */
+    public static String Position = "position";
 
     protected CoordinatorLayout mCoordinatorLayout;
     private ActivityContentBinding mBinding;
@@ -97,7 +100,10 @@ public class ContentActivity extends AppCompatActivity {
     private ContentAdapter mAdapter;
     private CatalogSheetFragment mSheetFragment;
 
-    private Article mArticle;
+    /**
+     * 加载完成的文章，加载中为 null
+     */
+    private CompactArticle mArticle;
     private String mTitle;
     private String mPath;
     private String mFolder;
@@ -106,7 +112,24 @@ public class ContentActivity extends AppCompatActivity {
     private LibrariesViewModel mViewModel;
     private FloatingActionButton mFavorite;
     private SelectionTracker<Long> mSelectionTracker;
-    private List<Content> mContentList;
+    /**
+     * 当前显示的条目，加载中为已解析的部分
+     */
+    private CompactArticle mContents;
+    /**
+     * 条号索引，文章加载完成前为 null
+     */
+    private ArticleIndex mIndex;
+    private ArticleViewModel mArticleViewModel;
+    /**
+     * 文内检索的查询，去掉首尾空白，未检索时为空串
+     */
+    private String mQuery = "";
+    /**
+     * 当前查询的检索结果，未检索或结果未到时为 null
+     */
+    private ArticleHits mHits;
+    private int mPendingPosition = RecyclerView.NO_POSITION;
     private Selection<Long> selection;
     private boolean mCollected;
     private Integer mLibrariesId;
@@ -139,10 +162,8 @@ public class ContentActivity extends AppCompatActivity {
             mFileType = mPath.substring(mPath.lastIndexOf(".") + 1).toLowerCase();
         }
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
-            mArticle = getIntent().getSerializableExtra(ContentActivity.Article, Article.class);
-        } else {
-            mArticle = (Article) getIntent().getSerializableExtra(ContentActivity.Article);
+        if (savedInstanceState == null) {
+            mPendingPosition = getIntent().getIntExtra(ContentActivity.Position, RecyclerView.NO_POSITION);
         }
 
         toolbar.setNavigationOnClickListener(v -> finish());
@@ -152,48 +173,10 @@ public class ContentActivity extends AppCompatActivity {
         mFavorite = mBinding.favorite;
         mBottomAppBar = mBinding.extend;
 
-        // 根据文件类型设置标题和内容
-        if (mArticle != null && mArticle.getInfo() != null) {
-            mBinding.tvCount.setText(String.format(getString(R.string.word_count), mArticle.getInfo().getWordsCount()));
-        } else {
-            // 非 MD 文件或 Article 为 null
-            mBinding.tvCount.setText(String.format(getString(R.string.word_count), "0"));
-        }
-
-        // 设置标题到 CollapsingToolbarLayout 和自定义 TextView
-        String titleText = null;
-        if (mArticle != null && mArticle.getTitle() != null && !mArticle.getTitle().isEmpty()) {
-            titleText = mArticle.getTitle();
-        } else if (mTitle != null && !mTitle.isEmpty()) {
-            titleText = mTitle;
-        }
-
-        if (titleText != null) {
-            // 获取自定义 TextView
-//            android.widget.TextView toolbarTitleView = findViewById(R.id.toolbar_title);
-
-            // 对于 MD 文件，使用 CollapsingToolbarLayout 的默认标题
-            // 对于非 MD 文件，使用自定义 TextView 显示标题（支持滚动）
-            if ("md".equalsIgnoreCase(mFileType) && mArticle != null) {
-                // MD 文件：使用 CollapsingToolbarLayout 的默认标题
-                toolBarLayout.setTitle(titleText);
-//                if (toolbarTitleView != null) {
-//                    toolbarTitleView.setVisibility(android.view.View.GONE);
-//                }
-            } else {
-                // 非 MD 文件：隐藏 CollapsingToolbarLayout 的默认标题，使用自定义 TextView
-                toolBarLayout.setTitle(titleText);
-//                if (toolbarTitleView != null) {
-//                    toolbarTitleView.setVisibility(android.view.View.VISIBLE);
-////                    toolbarTitleView.setText(titleText);
-//                    // 如果文本超过3行，启用滚动效果
-//                    toolbarTitleView.post(() -> {
-//                        if (toolbarTitleView.getLineCount() > 3) {
-//                            toolbarTitleView.setSelected(true); // 启用 marquee 滚动
-//                        }
-//                    });
-//                }
-            }
+        // 文章在后台加载，完成前字数显示为 0，标题取自 Intent
+        mBinding.tvCount.setText(String.format(getString(R.string.word_count), "0"));
+        if (mTitle != null && !mTitle.isEmpty()) {
+            toolBarLayout.setTitle(mTitle);
         }
 
         barMenuOnClickListener();
@@ -221,8 +204,9 @@ public class ContentActivity extends AppCompatActivity {
         mFavorite.setOnClickListener(view -> favoriteManager());
 
         // 根据文件类型选择显示方式
-        if ("md".equalsIgnoreCase(mFileType) && mArticle != null) {
+        if ("md".equalsIgnoreCase(mFileType) && mPath != null) {
             setUpRecyclerView();
+            loadArticle();
         } else {
 //            setUpWebView();
         }
@@ -279,15 +263,17 @@ public class ContentActivity extends AppCompatActivity {
                         if (mSelectionTracker != null) {
                             mSelectionTracker.clearSelection();
                         }
-                        if (mArticle != null && mArticle.getInfo() != null) {
-                            mBinding.tvCount.setText(String.format(getString(R.string.word_count), mArticle.getInfo().getWordsCount()));
-                        }
+                        showCount();
                     }).show();
                 }
             } else if (item.getItemId() == R.id.menu_collections) {
                 startActivity(new Intent(ContentActivity.this, FavoriteActivity.class));
             } else if (item.getItemId() == R.id.menu_history) {
                 showHistory();
+            } else if (item.getItemId() == R.id.menu_search_previous) {
+                moveHit(-1);
+            } else if (item.getItemId() == R.id.menu_search_next) {
+                moveHit(1);
             }
             return true;
         });
@@ -322,7 +308,7 @@ public class ContentActivity extends AppCompatActivity {
     private void textClip(Selection<Long> selection) {
         StringBuilder builder = new StringBuilder();
         for (Long snippetsIndex : selection) {
-            String snippets = mContentList.get(snippetsIndex.intValue()).getRule();
+            String snippets = mContents.getRuleString(snippetsIndex.intValue());
             builder.append(snippets).append(selection.size() > 1 ? "\n" : "");
         }
         ClipboardManager clipboardManager = (ClipboardManager) getSystemService(Context.CLIPBOARD_SERVICE);
@@ -341,7 +327,7 @@ public class ContentActivity extends AppCompatActivity {
     private void emailFeedback(Selection<Long> selection) {
         StringBuilder builder = new StringBuilder();
         for (Long snippetsIndex : selection) {
-            String snippets = mContentList.get(snippetsIndex.intValue()).getRule();
+            String snippets = mContents.getRuleString(snippetsIndex.intValue());
             builder.append(snippets).append(selection.size() > 1 ? "\n" : "");
         }
         // open text application
@@ -352,9 +338,9 @@ public class ContentActivity extends AppCompatActivity {
 
     private void saveLaw(Selection<Long> selection) {
         for (Long snippetsIndex : selection) {
-            String snippets = mContentList.get(snippetsIndex.intValue()).getRule();
+            String snippets = mContents.getRuleString(snippetsIndex.intValue());
             Libraries libraries = new Libraries();
-            libraries.setName(mArticle.getTitle());
+            libraries.setName(articleTitle());
             libraries.setLawsId(mArticleId);
             libraries.setArticlePath(mPath);
             libraries.setSnippetsContent(snippets);
@@ -381,8 +367,8 @@ public class ContentActivity extends AppCompatActivity {
 
         LinearLayoutManager manager = new LinearLayoutManager(this);
         mRecyclerView.setLayoutManager(manager);
-        mContentList = mArticle.getContents();
-        mAdapter = new ContentAdapter(mContentList);
+        mContents = CompactArticle.empty();
+        mAdapter = new ContentAdapter(mContents);
         mRecyclerView.setAdapter(mAdapter);
 
         mSelectionTracker = new SelectionTracker.Builder<>("content_selection", mRecyclerView, new ContentAdapter.KeyProvider(mAdapter), new ContentAdapter.DetailsLookup(mRecyclerView), StorageStrategy.createLongStorage()).withSelectionPredicate(SelectionPredicates.createSelectAnything()).build();
@@ -391,15 +377,68 @@ public class ContentActivity extends AppCompatActivity {
         mSelectionTracker.addObserver(new SelectionTracker.SelectionObserver<Long>() {
             @Override
             public void onSelectionChanged() {
-                if (!mSelectionTracker.getSelection().isEmpty()) {
-                    String title = String.format(getString(R.string.select_count), mSelectionTracker.getSelection().size());
-                    mBinding.tvCount.setText(title);
+                showCount();
+            }
+        });
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+    }
+
+    /**
+     * 后台加载文章，解析中的条目先行追加显示
+     */
+    private void loadArticle() {
+        ArticleViewModel articleViewModel = new ViewModelProvider(this).get(ArticleViewModel.class);
+        mArticleViewModel = articleViewModel;
+        articleViewModel.getContents().observe(this, contents -> {
+            mContents = contents;
+            mAdapter.appendData(contents);
+        });
+        articleViewModel.getArticle().observe(this, article -> {
+            if (article == null) {
+                Toast.makeText(this, getResources().getString(R.string.unable_to_parse), Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            mArticle = article;
+            if (mPendingPosition != RecyclerView.NO_POSITION && mPendingPosition < article.size()) {
+                mBarLayout.setExpanded(false);
+                ((LinearLayoutManager) Objects.requireNonNull(mRecyclerView.getLayoutManager())).scrollToPositionWithOffset(mPendingPosition, 0);
+            }
+            mPendingPosition = RecyclerView.NO_POSITION;
+            if (!mQuery.isEmpty() && (mHits == null || mHits.getArticleSize() < article.size())) {
+                // 加载过程中检索的只是已解析的部分
+                articleViewModel.search(article, mQuery);
+            }
+            showCount();
+        });
+        articleViewModel.getIndex().observe(this, index -> mIndex = index);
+        articleViewModel.getHits().observe(this, hits -> {
+            if (hits != null && !hits.getQuery().equals(mQuery)) {
+                // 输入已变化，丢弃过时的结果
+                return;
+            }
+            // 只有同一查询覆盖了更多条目时才保留当前命中，加载中改变查询时重新定位
+            boolean refresh = mHits != null && hits != null && mHits.getQuery().equals(hits.getQuery())
+                    && mHits.getArticleSize() < hits.getArticleSize();
+            int current = mAdapter.getCurrentHit();
+            mHits = hits;
+            mAdapter.setHits(hits);
+            Menu menu = mBottomAppBar.getMenu();
+            menu.findItem(R.id.menu_search_previous).setVisible(hits != null && hits.size() > 0);
+            menu.findItem(R.id.menu_search_next).setVisible(hits != null && hits.size() > 0);
+            if (hits != null && hits.size() > 0) {
+                mBottomAppBar.performShow();
+                if (refresh && current != ArticleHits.NOT_FOUND && current < hits.size()) {
+                    // 同一查询补全了后续条目，前面的命中不变，停留在当前命中
+                    mAdapter.setCurrentHit(current);
                 } else {
-                    mBinding.tvCount.setText(String.format(getString(R.string.word_count), mArticle.getInfo().getWordsCount()));
+                    LinearLayoutManager manager = (LinearLayoutManager) Objects.requireNonNull(mRecyclerView.getLayoutManager());
+                    showHit(hits.nearestHit(Math.max(manager.findFirstVisibleItemPosition(), 0)));
                 }
             }
+            showCount();
         });
-        mRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        articleViewModel.load(mPath);
     }
 
     private void favoriteManager() {
@@ -411,7 +450,7 @@ public class ContentActivity extends AppCompatActivity {
             Toast.makeText(this, getResources().getString(R.string.unbookmark_articles), Toast.LENGTH_SHORT).show();
             mCollected = false;
         } else {
-            libraries.setName(mArticle.getTitle());
+            libraries.setName(articleTitle());
             libraries.setLawsId(mArticleId);
             libraries.setArticlePath(mPath);
             Date now = new Date();
@@ -426,26 +465,37 @@ public class ContentActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * 文章标题，文章未加载完成或没有解析出标题时取 Intent 传入的标题；加载中已显示的条目同样可以选择、收藏和导出
+     */
+    private String articleTitle() {
+        String title = mArticle != null ? mArticle.getTitle() : null;
+        return title != null && !title.isEmpty() ? title : mTitle;
+    }
+
     private void showHistory() {
-        if (mArticle == null || mArticle.getInfo() == null) {
+        if (mArticle == null) {
             Toast.makeText(this, "此文件类型不支持历史记录功能", Toast.LENGTH_SHORT).show();
             return;
         }
-        new MaterialAlertDialogBuilder(ContentActivity.this).setTitle(mArticle.getTitle()).setPositiveButton(getResources().getString(R.string.i_know), null).setItems(mArticle.getInfo().getCorrectHistory().toArray(new String[0]), null).show();
+        new MaterialAlertDialogBuilder(ContentActivity.this).setTitle(articleTitle()).setPositiveButton(getResources().getString(R.string.i_know), null).setItems(mArticle.getCorrectHistory().toArray(new String[0]), null).show();
     }
 
     protected void setUpBottomDrawer() {
         mBottomAppBar.setNavigationOnClickListener(v -> {
             if (mArticle == null) {
-                Toast.makeText(this, "此文件类型不支持目录功能", Toast.LENGTH_SHORT).show();
+                // 文章仍在加载
+                if (!"md".equalsIgnoreCase(mFileType)) {
+                    Toast.makeText(this, "此文件类型不支持目录功能", Toast.LENGTH_SHORT).show();
+                }
                 return;
             }
-            if (mArticle.getToc().isEmpty()) {
+            if (mArticle.getTocCount() == 0) {
                 Toast.makeText(this, getResources().getString(R.string.untitled), Toast.LENGTH_SHORT).show();
                 return;
             }
             if (mSheetFragment == null) {
-                mSheetFragment = CatalogSheetFragment.newInstance(mArticle, ContentActivity.this);
+                mSheetFragment = CatalogSheetFragment.newInstance();
             }
             mSheetFragment.show(getSupportFragmentManager(), "dialog");
         });
@@ -493,7 +543,11 @@ public class ContentActivity extends AppCompatActivity {
             searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
                 @Override
                 public boolean onQueryTextSubmit(String query) {
-                    querySearch(query);
+                    if (mHits != null && mHits.getQuery().equals(query.trim())) {
+                        moveHit(1);
+                    } else {
+                        querySearch(query);
+                    }
                     return true;
                 }
 
@@ -503,18 +557,87 @@ public class ContentActivity extends AppCompatActivity {
                     return true;
                 }
             });
+        } else if (id == R.id.menu_jump) {
+            showJumpDialog();
+            return true;
         }
         return super.onOptionsItemSelected(item);
     }
 
+    /**
+     * 输入条号跳转，通过 {@link ArticleIndex} 直接定位，不遍历列表
+     */
+    private void showJumpDialog() {
+        if (mAdapter == null) {
+            Toast.makeText(this, "此文件类型不支持跳转功能", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        if (mIndex == null) {
+            Toast.makeText(this, getResources().getString(R.string.article_loading), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        EditText editText = new EditText(this);
+        editText.setHint(R.string.jump_hint);
+        editText.setSingleLine(true);
+        editText.setInputType(InputType.TYPE_CLASS_TEXT);
+        new MaterialAlertDialogBuilder(ContentActivity.this).setTitle(getResources().getString(R.string.menu_jump)).setView(editText).setNegativeButton(getResources().getString(R.string.cancel), null).setPositiveButton(getResources().getString(R.string.menu_jump), (dialog, which) -> {
+            int position = mIndex.find(editText.getText());
+            if (position == ArticleIndex.NOT_FOUND) {
+                Toast.makeText(this, getResources().getString(R.string.article_not_found), Toast.LENGTH_SHORT).show();
+                return;
+            }
+            mBarLayout.setExpanded(false);
+            ((LinearLayoutManager) Objects.requireNonNull(mRecyclerView.getLayoutManager())).scrollToPositionWithOffset(position, 0);
+        }).show();
+    }
+
+    /**
+     * 后台检索，结果到达后只重绑命中变化的条目，见 {@link ContentAdapter#setHits(ArticleHits)}
+     */
     private void querySearch(String query) {
         // 检查 mAdapter 是否为 null（非 MD 文件时可能为 null）
-        if (mAdapter == null || mContentList == null) {
+        if (mAdapter == null || mContents == null || mArticleViewModel == null) {
+            return;
+        }
+        String trimmed = query != null ? query.trim() : "";
+        if (trimmed.equals(mQuery)) {
+            return;
+        }
+        mQuery = trimmed;
+        mArticleViewModel.search(mArticle != null ? mArticle : mContents, trimmed);
+    }
+
+    /**
+     * 上一处或下一处命中，首尾循环
+     */
+    private void moveHit(int step) {
+        if (mHits == null || mHits.size() == 0) {
             return;
         }
-        mAdapter.setData(mContentList, query);
-        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new ContentDiffCallBack(mContentList, mContentList));
-        diffResult.dispatchUpdatesTo(mAdapter);
+        int current = mAdapter.getCurrentHit();
+        int hit = current == ArticleHits.NOT_FOUND ? 0 : Math.floorMod(current + step, mHits.size());
+        showHit(hit);
+        showCount();
+    }
+
+    private void showHit(int hit) {
+        mAdapter.setCurrentHit(hit);
+        mBarLayout.setExpanded(false);
+        ((LinearLayoutManager) Objects.requireNonNull(mRecyclerView.getLayoutManager())).scrollToPositionWithOffset(mHits.getPosition(hit), 0);
+    }
+
+    /**
+     * 底栏计数：选择中为已选条数，检索中为当前命中序号，否则为字数
+     */
+    private void showCount() {
+        if (mSelectionTracker != null && !mSelectionTracker.getSelection().isEmpty()) {
+            mBinding.tvCount.setText(String.format(getString(R.string.select_count), mSelectionTracker.getSelection().size()));
+        } else if (mHits != null) {
+            mBinding.tvCount.setText(mHits.size() == 0 ? getString(R.string.search_no_hit)
+                    : getString(R.string.search_hit_count, mAdapter.getCurrentHit() + 1, mHits.size()));
+        } else if (mArticle != null) {
+            mBinding.tvCount.setText(String.format(getString(R.string.word_count), mArticle.getWordsCount()));
+        }
     }
 
     @Override
@@ -534,15 +657,15 @@ public class ContentActivity extends AppCompatActivity {
      */
     private void doSomething() {
         StringBuilder sb = new StringBuilder();
-        sb.append("《").append(mArticle.getTitle()).append("》").append("\n");
+        sb.append("《").append(articleTitle()).append("》").append("\n");
         for (Long index : selection) {
-            String snippets = mContentList.get(index.intValue()).getRule();
+            String snippets = mContents.getRuleString(index.intValue());
             sb.append(snippets).append(selection.size() > 1 ? "\n" : "");
         }
         EditText editText = new EditText(this);
         editText.setText(sb.toString());
         Bitmap bitmap = Image.getBitmap(this, editText);
-        boolean saveResult = SimpleUtils.saveToGallery(this, bitmap, mArticle.getTitle());
+        boolean saveResult = SimpleUtils.saveToGallery(this, bitmap, articleTitle());
         if (saveResult) {
             Toast.makeText(this, getResources().getString(R.string.save_success), Toast.LENGTH_SHORT).show();
         }
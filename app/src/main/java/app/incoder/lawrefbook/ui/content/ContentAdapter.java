@@ -18,8 +18,10 @@ package app.incoder.lawrefbook.ui.content;
 
 import android.content.Context;
 import android.graphics.Typeface;
+import android.text.Spannable;
 import android.text.SpannableString;
 import android.text.Spanned;
+import android.text.style.BackgroundColorSpan;
 import android.text.style.ForegroundColorSpan;
 import android.text.style.RelativeSizeSpan;
 import android.text.style.StyleSpan;
@@ -38,11 +40,11 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.card.MaterialCardView;
 
-import java.util.List;
-
 import app.incoder.lawrefbook.R;
-import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.CompactArticle;
 import app.incoder.lawrefbook.model.Type;
+import app.incoder.lawrefbook.parser.ArticleTokenizer;
+import app.incoder.lawrefbook.search.ArticleHits;
 import lombok.Setter;
 
 /**
@@ -53,24 +55,103 @@ import lombok.Setter;
  */
 public class ContentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
-    private List<Content> mContent;
-    private String queryText;
+    private CompactArticle mContent;
+    /**
+     * 文内检索的命中，检索条件变化时只重绑命中变化的条目
+     */
+    private ArticleHits mHits = ArticleHits.empty();
+    private int mCurrentHit = ArticleHits.NOT_FOUND;
     @Setter
     private SelectionTracker<Long> selectionTracker;
     public static final int VIEW_TYPE_TITLE = 0;
     public static final int VIEW_TYPE_NODE = 1;
     public static final int VIEW_TYPE_CONTENT = 2;
 
-    public ContentAdapter(List<Content> content) {
+    /**
+     * TextView 默认会把传入的 Spannable 复制一份，这里直接使用传入的实例；每次绑定都新建，交给 TextView 后不再修改
+     */
+    private static final Spannable.Factory NO_COPY = new Spannable.Factory() {
+        @Override
+        public Spannable newSpannable(CharSequence source) {
+            return source instanceof Spannable ? (Spannable) source : super.newSpannable(source);
+        }
+    };
+
+    public ContentAdapter(CompactArticle content) {
         this.mContent = content;
     }
 
-    public void setData(List<Content> content, String queryText) {
-        this.mContent = content;
-        this.queryText = queryText;
+    /**
+     * 更新检索结果，只通知新旧结果中有命中的条目，相邻的合并为一次通知
+     *
+     * @param hits 为 null 时清除高亮
+     */
+    public void setHits(@Nullable ArticleHits hits) {
+        ArticleHits old = mHits;
+        mHits = hits != null ? hits : ArticleHits.empty();
+        mCurrentHit = ArticleHits.NOT_FOUND;
+        int oldHit = 0;
+        int newHit = 0;
+        int rangeStart = RecyclerView.NO_POSITION;
+        int rangeEnd = RecyclerView.NO_POSITION;
+        while (oldHit < old.size() || newHit < mHits.size()) {
+            int position;
+            if (newHit == mHits.size() || (oldHit < old.size() && old.getPosition(oldHit) <= mHits.getPosition(newHit))) {
+                position = old.getPosition(oldHit);
+            } else {
+                position = mHits.getPosition(newHit);
+            }
+            oldHit = old.getHitEnd(position);
+            newHit = mHits.getHitEnd(position);
+            if (position >= getItemCount()) {
+                break;
+            }
+            if (position == rangeEnd) {
+                rangeEnd++;
+            } else {
+                if (rangeStart != RecyclerView.NO_POSITION) {
+                    notifyItemRangeChanged(rangeStart, rangeEnd - rangeStart);
+                }
+                rangeStart = position;
+                rangeEnd = position + 1;
+            }
+        }
+        if (rangeStart != RecyclerView.NO_POSITION) {
+            notifyItemRangeChanged(rangeStart, rangeEnd - rangeStart);
+        }
+    }
+
+    /**
+     * 标出当前命中，只重绑前后两个命中所在的条目
+     */
+    public void setCurrentHit(int hit) {
+        int old = mCurrentHit;
+        mCurrentHit = hit;
+        if (old != ArticleHits.NOT_FOUND && old < mHits.size()) {
+            notifyItemChanged(mHits.getPosition(old));
+        }
+        if (hit != ArticleHits.NOT_FOUND && (old == ArticleHits.NOT_FOUND || old >= mHits.size()
+                || mHits.getPosition(old) != mHits.getPosition(hit))) {
+            notifyItemChanged(mHits.getPosition(hit));
+        }
     }
 
-    public List<Content> getData() {
+    public int getCurrentHit() {
+        return mCurrentHit;
+    }
+
+    /**
+     * 分批加载时更新数据，content 以当前数据为前缀，只通知新增的部分
+     */
+    public void appendData(CompactArticle content) {
+        int start = mContent.size();
+        mContent = content;
+        if (content.size() > start) {
+            notifyItemRangeInserted(start, content.size() - start);
+        }
+    }
+
+    public CompactArticle getData() {
         return mContent;
     }
 
@@ -96,19 +177,49 @@ public class ContentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
-        String item = mContent.get(position).getRule();
+        // 直接引用共享缓冲绑定，不为每个条目创建 String
+        char[] text = mContent.getText();
+        int start = mContent.getStart(position);
+        int length = mContent.getLength(position);
+        boolean hasHits = mHits.getHitStart(position) < mHits.getHitEnd(position);
         if (holder instanceof TitleViewHolder) {
             TitleViewHolder viewHolder = (TitleViewHolder) holder;
-            viewHolder.mTitle.setText(item);
+            if (hasHits) {
+                viewHolder.mTitle.setText(highlight(viewHolder.mTitle.getContext(), new SpannableString(mContent.getRule(position)), position));
+            } else {
+                viewHolder.mTitle.setText(text, start, length);
+            }
         } else if (holder instanceof NodeViewHolder) {
             NodeViewHolder viewHolder = (NodeViewHolder) holder;
-            viewHolder.mNode.setText(item);
+            if (hasHits) {
+                viewHolder.mNode.setText(highlight(viewHolder.mNode.getContext(), new SpannableString(mContent.getRule(position)), position));
+            } else {
+                viewHolder.mNode.setText(text, start, length);
+            }
         } else if (holder instanceof ContentViewHolder) {
             ContentViewHolder viewHolder = (ContentViewHolder) holder;
-            viewHolder.bind(item, viewHolder.mArticleContent.getContext(), position);
+            viewHolder.bind(viewHolder.mArticleContent.getContext(), position);
         }
     }
 
+    /**
+     * 为条目 {@code position} 的命中加上高亮，当前命中另加底色
+     */
+    private Spannable highlight(Context context, Spannable spannable, int position) {
+        int end = mHits.getHitEnd(position);
+        for (int hit = mHits.getHitStart(position); hit < end; hit++) {
+            int start = mHits.getStart(hit);
+            int stop = start + mHits.getLength(hit);
+            // highlighted search
+            spannable.setSpan(new ForegroundColorSpan(context.getColor(R.color.searchHighlight)), start, stop, Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
+            spannable.setSpan(new RelativeSizeSpan(1.1f), start, stop, Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
+            if (hit == mCurrentHit) {
+                spannable.setSpan(new BackgroundColorSpan(context.getColor(R.color.searchCurrentHit)), start, stop, Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
+            }
+        }
+        return spannable;
+    }
+
     @Override
     public int getItemCount() {
         return mContent.size();
@@ -116,9 +227,9 @@ public class ContentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
 
     @Override
     public int getItemViewType(int position) {
-        if (mContent.get(position).getType() == Type.SECTION_TYPE.getCode()) {
+        if (mContent.getType(position) == Type.SECTION_TYPE.getCode()) {
             return VIEW_TYPE_TITLE;
-        } else if (mContent.get(position).getType() == Type.NODE_TYPE.getCode()) {
+        } else if (mContent.getType(position) == Type.NODE_TYPE.getCode()) {
             return VIEW_TYPE_NODE;
         }
         return VIEW_TYPE_CONTENT;
@@ -153,33 +264,23 @@ public class ContentAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder
             super(itemView);
             mCardView = itemView.findViewById(R.id.mcv_content);
             mArticleContent = itemView.findViewById(R.id.tv_content);
+            mArticleContent.setSpannableFactory(NO_COPY);
             details = new Details();
         }
 
-        private void bind(String item, Context context, int position) {
+        private void bind(Context context, int position) {
             details.position = position;
+            CharSequence item = mContent.getRule(position);
+            // 已交给 TextView 的实例上挂着 TextView 自己的 span，不能复用，每次绑定新建
             SpannableString spannableString = new SpannableString(item);
-            if (queryText != null && !queryText.isEmpty() && item.contains(queryText)) {
-                // search
-                int temp = item.indexOf(queryText);
-                while (temp != -1) {
-                    // highlighted search
-                    ForegroundColorSpan colorSpan = new ForegroundColorSpan(context.getColor(R.color.searchHighlight));
-                    spannableString.setSpan(colorSpan, temp, temp + queryText.length(), Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
-                    RelativeSizeSpan sizeSpan11 = new RelativeSizeSpan(1.1f);
-                    spannableString.setSpan(sizeSpan11, temp, temp + queryText.length(), Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
-                    temp = item.indexOf(queryText, temp + 1);
-                }
-            }
+            highlight(context, spannableString, position);
             // mark
-            if (item.matches("(第[一二三四五六七八九十零百千万]*条)( *)([\\s\\S]*)")) {
+            int end = ArticleTokenizer.articleNumberEnd(item, 0, item.length());
+            if (end > 0) {
                 StyleSpan styleSpan = new StyleSpan(Typeface.BOLD);
-                int end = item.indexOf("条") + 1;
-                if (end > 0) {
-                    spannableString.setSpan(styleSpan, 0, end, Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
-                }
+                spannableString.setSpan(styleSpan, 0, end, Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
             }
-            mArticleContent.setText(spannableString);
+            mArticleContent.setText(spannableString, TextView.BufferType.SPANNABLE);
             if (selectionTracker != null) {
                 bindSelectedState();
             }
@@ -25,7 +25,6 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.HorizontalScrollView;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
@@ -36,9 +35,10 @@ import com.google.android.material.chip.ChipGroup;
 import java.util.Arrays;
 import java.util.List;
 
-import app.incoder.lawrefbook.LawRefBookRepository;
+import app.incoder.lawrefbook.MainViewModel;
 import app.incoder.lawrefbook.R;
-import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.catalog.CatalogIndex;
+import app.incoder.lawrefbook.sqlite.Sqlite3Dao;
 import app.incoder.lawrefbook.storage.Category;
 import app.incoder.lawrefbook.storage.Law;
 import app.incoder.lawrefbook.ui.content.ContentActivity;
@@ -55,37 +55,22 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     private final Context mContext;
     private Category mCategory;
     private List<Category> mSubCategories;
+    /**
+     * 当前目录下一层的目录，列在法律之前
+     */
+    private List<Category> mFolders;
+    /**
+     * 是否显示返回上一级的条目
+     */
+    private boolean mShowParent;
+    private final CatalogIndex mIndex;
     private String mSelectedSubCategoryId;
     private OnSubCategorySelectedListener mSubCategoryListener;
+    private OnFolderSelectedListener mFolderListener;
+    private MainViewModel.TitleResults mTitleResults;
     private final List<String> ignorePublish = Arrays.asList("刑法", "宪法", "案例/劳动人事", "案例/民法典", "案例/消费购物", "案例/行政协议诉讼", "民法典");
 
-    /**
-     * 根据 categoryId 获取对应的 folder 路径
-     * categoryId 是分类 ID 的 hashCode
-     */
-    private String getFolderByCategoryId(Integer categoryId) {
-        if (categoryId == null) {
-            return mCategory != null ? mCategory.getFolder() : "";
-        }
-
-        // 先检查是否是父分类
-        if (mCategory != null && mCategory.getId().hashCode() == categoryId) {
-            return mCategory.getFolder();
-        }
-
-        // 检查是否是子分类
-        if (mSubCategories != null) {
-            for (Category subCategory : mSubCategories) {
-                if (subCategory.getId().hashCode() == categoryId) {
-                    return subCategory.getFolder();
-                }
-            }
-        }
-
-        // 如果找不到，返回父分类的 folder
-        return mCategory != null ? mCategory.getFolder() : "";
-    }
-
+    public static final int VIEW_TYPE_FOLDER = 3;
     public static final int VIEW_TYPE_HEADER = 2;
     public static final int VIEW_TYPE_ITEM = 1;
     public static final int VIEW_TYPE_EMPTY = 0;
@@ -94,19 +79,50 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
      * 子分类选择监听器
      */
     public interface OnSubCategorySelectedListener {
-        void onSubCategorySelected(String subCategoryId);
+        void onSubCategorySelected(Category subCategory);
     }
 
     public void setSubCategorySelectedListener(OnSubCategorySelectedListener listener) {
         this.mSubCategoryListener = listener;
     }
 
+    /**
+     * 目录条目点击监听器
+     */
+    public interface OnFolderSelectedListener {
+        void onFolderSelected(Category folder);
+
+        void onParentSelected();
+    }
+
+    public void setFolderSelectedListener(OnFolderSelectedListener listener) {
+        this.mFolderListener = listener;
+    }
+
+    /**
+     * 设置当前目录下一层的目录，在 {@link #setData} 时一并刷新
+     *
+     * @param folders    为 null 时不列出目录，如显示搜索结果时
+     * @param showParent 已进入子分类下的目录时显示返回上一级
+     */
+    public void setFolders(List<Category> folders, boolean showParent) {
+        this.mFolders = folders;
+        this.mShowParent = showParent;
+    }
+
     public void setData(Category category, List<Law> data) {
         mLaw = data;
         this.mCategory = category;
         notifyDataSetChanged();
     }
 
+    /**
+     * 当前的标题搜索结果，目录拼音匹配的法规显示匹配的目录并在打开时跳转，null 表示没有在搜索
+     */
+    public void setTitleResults(MainViewModel.TitleResults results) {
+        mTitleResults = results;
+    }
+
     /**
      * 设置子分类列表
      */
@@ -129,6 +145,7 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
     public FeedAdapter(Context context) {
         this.mContext = context;
+        this.mIndex = Sqlite3Dao.getCatalogIndex(context);
     }
 
     @NonNull
@@ -139,6 +156,9 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         if (viewType == VIEW_TYPE_HEADER) {
             view = inflater.inflate(R.layout.header_subcategory_selector, parent, false);
             return new HeaderViewHolder(view);
+        } else if (viewType == VIEW_TYPE_FOLDER) {
+            view = inflater.inflate(R.layout.item_feed, parent, false);
+            return new FolderViewHolder(view);
         } else if (viewType == VIEW_TYPE_EMPTY) {
             view = inflater.inflate(R.layout.empty_view, parent, false);
             return new FeedViewHolder(view);
@@ -152,6 +172,8 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
         if (holder instanceof HeaderViewHolder) {
             bindHeaderViewHolder((HeaderViewHolder) holder);
+        } else if (holder instanceof FolderViewHolder) {
+            bindFolderViewHolder((FolderViewHolder) holder, position);
         } else if (holder instanceof FeedViewHolder) {
             bindFeedViewHolder((FeedViewHolder) holder, position);
         }
@@ -183,7 +205,7 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
             chip.setOnCheckedChangeListener((buttonView, isChecked) -> {
                 if (isChecked && mSubCategoryListener != null) {
                     mSelectedSubCategoryId = subCategory.getId();
-                    mSubCategoryListener.onSubCategorySelected(subCategory.getId());
+                    mSubCategoryListener.onSubCategorySelected(subCategory);
                 }
             });
 
@@ -191,13 +213,36 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         }
     }
 
+    private void bindFolderViewHolder(FolderViewHolder holder, int position) {
+        int index = position - getHeaderCount();
+        if (mShowParent && index == 0) {
+            holder.mTitle.setText(R.string.feed_parent_folder);
+            holder.itemView.setOnClickListener(v -> {
+                if (mFolderListener != null) {
+                    mFolderListener.onParentSelected();
+                }
+            });
+            return;
+        }
+        Category folder = mFolders.get(mShowParent ? index - 1 : index);
+        holder.mTitle.setText(mContext.getString(R.string.feed_folder, folder.getName()));
+        holder.itemView.setOnClickListener(v -> {
+            if (mFolderListener != null) {
+                mFolderListener.onFolderSelected(folder);
+            }
+        });
+    }
+
     private void bindFeedViewHolder(FeedViewHolder holder, int position) {
-        // 如果有 Header，需要调整 position
-        int actualPosition = hasHeader() ? position - 1 : position;
+        // 跳过 Header 与目录条目
+        int actualPosition = getLawIndex(position);
 
         if (mLaw != null && !mLaw.isEmpty() && actualPosition >= 0 && actualPosition < mLaw.size()) {
             Law law = mLaw.get(actualPosition);
-            holder.mTitle.setText(law.getName());
+            MainViewModel.Headline headline = mTitleResults != null ? mTitleResults.getHeadline(law) : null;
+            holder.mTitle.setText(headline != null
+                    ? mContext.getString(R.string.feed_headline_match, law.getName(), headline.getText())
+                    : law.getName());
             String path = getString(law);
             holder.itemView.setOnClickListener(v -> {
                 // 检查文件类型
@@ -209,33 +254,56 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
                         .putExtra(ContentActivity.ArticleId, law.getId())
                         .putExtra(ContentActivity.Title, law.getName())
                         .putExtra(ContentActivity.FileType, fileExtension);
-
-                if (fileExtension.equalsIgnoreCase("md")) {
-                    // MD 文件：解析内容
-                    Article article = LawRefBookRepository.getArticle(v.getContext(), path);
-                    if (article == null) {
-                        Toast.makeText(v.getContext(), v.getContext().getResources().getString(R.string.unable_to_parse), Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-                    intent.putExtra(ContentActivity.Article, article);
-                } else {
-                    // 其他文件类型：传递 null Article，ContentActivity 会使用 WebView 显示
-                    intent.putExtra(ContentActivity.Article, (Article) null);
+                if (headline != null) {
+                    intent.putExtra(ContentActivity.Position, headline.getPosition());
                 }
 
+                // MD 文件由 ContentActivity 在后台解析，其他文件类型使用 WebView 显示
                 mContext.startActivity(intent);
             });
         }
     }
 
+    /**
+     * 列表位置对应法规的 assets 路径，Header、空视图为 null
+     */
+    public String getPath(int position) {
+        int actualPosition = getLawIndex(position);
+        if (mLaw == null || actualPosition < 0 || actualPosition >= mLaw.size()) {
+            return null;
+        }
+        return getString(mLaw.get(actualPosition));
+    }
+
     private boolean hasHeader() {
         return mSubCategories != null && !mSubCategories.isEmpty();
     }
 
+    private int getHeaderCount() {
+        return hasHeader() ? 1 : 0;
+    }
+
+    /**
+     * 返回上一级与各个目录的条目数
+     */
+    private int getFolderCount() {
+        return (mShowParent ? 1 : 0) + (mFolders != null ? mFolders.size() : 0);
+    }
+
+    /**
+     * 列表位置在 mLaw 中的下标，Header 与目录条目为负数
+     */
+    private int getLawIndex(int position) {
+        return position - getHeaderCount() - getFolderCount();
+    }
+
     private String getString(Law law) {
+        if (law.getCatalogId() != null) {
+            // 路径在 CatalogIndex 建立时已拼好
+            return mIndex.getLawPath(law.getCatalogId());
+        }
         String path;
-        // 根据 law 的 categoryId 获取对应的 folder
-        String folder = getFolderByCategoryId(law.getCategoryId());
+        String folder = mCategory != null ? mCategory.getFolder() : "";
 
         // 获取文件扩展名（从 filename 或 name 中提取）
         String extension = getFileExtension(law);
@@ -286,8 +354,11 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         if (hasHeader() && position == 0) {
             return VIEW_TYPE_HEADER;
         }
+        // 之后是返回上一级与目录
+        if (position - getHeaderCount() < getFolderCount()) {
+            return VIEW_TYPE_FOLDER;
+        }
 
-        int actualPosition = hasHeader() ? position - 1 : position;
         if (mLaw == null || mLaw.isEmpty()) {
             return VIEW_TYPE_EMPTY;
         }
@@ -296,11 +367,12 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
     @Override
     public int getItemCount() {
-        int headerCount = hasHeader() ? 1 : 0;
+        int headerCount = getHeaderCount() + getFolderCount();
         if (mLaw == null || mLaw.isEmpty()) {
-            return headerCount + 1; // Header + Empty
+            // 目录下只有子目录时不显示空视图
+            return headerCount + (mFolders == null || mFolders.isEmpty() ? 1 : 0); // Header + Empty
         }
-        return headerCount + mLaw.size(); // Header + Items
+        return headerCount + mLaw.size(); // Header + Folders + Items
     }
 
     public static class HeaderViewHolder extends RecyclerView.ViewHolder {
@@ -336,6 +408,15 @@ public class FeedAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
         }
     }
 
+    public static class FolderViewHolder extends RecyclerView.ViewHolder {
+        TextView mTitle;
+
+        public FolderViewHolder(@NonNull View itemView) {
+            super(itemView);
+            mTitle = itemView.findViewById(R.id.title);
+        }
+    }
+
     public static class FeedViewHolder extends RecyclerView.ViewHolder {
         TextView mTitle;
 
@@ -21,9 +21,11 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import androidx.activity.OnBackPressedCallback;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -33,7 +35,10 @@ import com.google.android.material.divider.MaterialDividerItemDecoration;
 import java.util.ArrayList;
 import java.util.List;
 
+import app.incoder.lawrefbook.MainViewModel;
 import app.incoder.lawrefbook.R;
+import app.incoder.lawrefbook.cache.ArticlePrefetcher;
+import app.incoder.lawrefbook.catalog.CatalogIndex;
 import app.incoder.lawrefbook.sqlite.Sqlite3Dao;
 import app.incoder.lawrefbook.storage.Category;
 import app.incoder.lawrefbook.storage.Law;
@@ -47,12 +52,42 @@ import app.incoder.lawrefbook.storage.Law;
 public class FeedFragment extends Fragment {
 
     private static final String CATEGORY = "category";
+    /**
+     * 列表停止滚动后等待的时间，快速连续滑动时不触发预取
+     */
+    private static final long PREFETCH_DELAY_MS = 300;
+    /**
+     * 预取可见区域之后、之前的条数
+     */
+    private static final int PREFETCH_AHEAD = 4;
+    private static final int PREFETCH_BEHIND = 1;
+    /**
+     * 单次预取的上限
+     */
+    private static final int PREFETCH_MAX = 12;
     private Category mCategory;
     private List<Law> laws; // 所有法律数据（未过滤）
     private List<Law> filteredLaws; // 过滤后的法律数据
+    private List<Law> mAllLaws; // 分类下的全部法律，laws 为其时显示当前目录这一层
     private List<Category> mSubCategories; // 第二层分类
-    private String mSelectedSubCategoryId; // 选中的第二层分类ID
+    private Category mSelectedSubCategory; // 选中的第二层分类
+    private FeedViewModel.Level mLevel; // 当前目录这一层的目录与法律
     private FeedAdapter mAdapter;
+    private RecyclerView mRecyclerView;
+    private FeedViewModel mViewModel;
+    private ArticlePrefetcher mPrefetcher;
+    private final Runnable mPrefetchTask = this::prefetchVisible;
+    /**
+     * 已进入子分类下的目录时，返回键回到上一级
+     */
+    private final OnBackPressedCallback mBackCallback = new OnBackPressedCallback(false) {
+        @Override
+        public void handleOnBackPressed() {
+            if (mViewModel != null) {
+                mViewModel.up();
+            }
+        }
+    };
 
     public FeedFragment() {
         // Required empty public constructor
@@ -66,29 +101,55 @@ public class FeedFragment extends Fragment {
         return fragment;
     }
 
+    /**
+     * 显示本分类的搜索结果
+     *
+     * @param data 为 null 时结束搜索，恢复分类下的全部法律
+     */
     public void changeLawRef(List<Law> data) {
+        if (mViewModel == null) {
+            // 视图尚未创建
+            return;
+        }
+        // 搜索先于页面首次显示时开始加载，加载完成后保留搜索结果
+        mViewModel.load(mCategory.getId());
         // 更新所有法律数据
-        laws = data;
+        laws = data != null ? data : mAllLaws;
         // 保存旧的过滤结果用于 DiffUtil
         List<Law> oldFilteredLaws = new ArrayList<>(filteredLaws != null ? filteredLaws : new ArrayList<>());
         // 根据选中的子分类过滤数据
         filterLawsBySubCategory();
         
-        if (mAdapter == null) {
-            mAdapter = new FeedAdapter(requireActivity());
-            mAdapter.setSubCategorySelectedListener(subCategoryId -> {
-                mSelectedSubCategoryId = subCategoryId;
-                List<Law> oldLaws = new ArrayList<>(filteredLaws != null ? filteredLaws : new ArrayList<>());
-                filterLawsBySubCategory();
-                DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new FeedDiffCallBack(filteredLaws, oldLaws));
-                diffResult.dispatchUpdatesTo(mAdapter);
-                mAdapter.setData(mCategory, filteredLaws);
-            });
-        } else {
-            DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new FeedDiffCallBack(filteredLaws, oldFilteredLaws));
-            diffResult.dispatchUpdatesTo(mAdapter);
-        }
+        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new FeedDiffCallBack(filteredLaws, oldFilteredLaws));
+        diffResult.dispatchUpdatesTo(mAdapter);
+        updateFolders();
         mAdapter.setData(mCategory, filteredLaws);
+        schedulePrefetch();
+    }
+
+    /**
+     * 当前目录这一层是否已加载
+     */
+    private boolean isLevelLoaded() {
+        Category folder = mViewModel != null ? mViewModel.getCurrentFolder() : null;
+        return mLevel != null && folder != null && mLevel.getFolder().getCatalogId().equals(folder.getCatalogId());
+    }
+
+    /**
+     * 浏览时在法律之前列出下一层目录，显示搜索结果时不列出
+     */
+    private void updateFolders() {
+        boolean browsing = isBrowsing();
+        mAdapter.setFolders(browsing ? mLevel.getFolders() : null, browsing && mViewModel.canGoUp());
+        updateBackCallback();
+    }
+
+    private boolean isBrowsing() {
+        return laws != null && laws == mAllLaws && isLevelLoaded();
+    }
+
+    private void updateBackCallback() {
+        mBackCallback.setEnabled(isResumed() && isBrowsing() && mViewModel.canGoUp());
     }
 
     /**
@@ -100,24 +161,19 @@ public class FeedFragment extends Fragment {
             return;
         }
 
-        if (mSubCategories == null || mSubCategories.isEmpty() || mSelectedSubCategoryId == null) {
+        if (mSubCategories == null || mSubCategories.isEmpty() || mSelectedSubCategory == null) {
             // 如果没有子分类，显示所有数据
             filteredLaws = laws;
+        } else if (laws == mAllLaws) {
+            // 当前目录直接包含的法律，这一层加载完成前为空
+            filteredLaws = isLevelLoaded() ? mLevel.getLaws() : new ArrayList<>();
         } else {
-            // 根据选中的子分类ID过滤
-            // 需要找到选中的子分类对应的 folder，然后匹配 law 的路径
-            for (Category subCategory : mSubCategories) {
-                if (subCategory.getId().equals(mSelectedSubCategoryId)) {
-                    break;
-                }
-            }
-            
+            // 搜索结果按子分类过滤，含其下各级目录
             filteredLaws = new ArrayList<>();
-            int selectedSubCategoryIdHash = mSelectedSubCategoryId.hashCode();
+            CatalogIndex index = Sqlite3Dao.getCatalogIndex(requireContext());
+            int selected = mSelectedSubCategory.getCatalogId();
             for (Law law : laws) {
-                // 通过比较 categoryId 的 hashCode 来判断是否属于选中的子分类
-                // 在创建 Law 对象时，categoryId 被设置为分类 ID 的 hashCode
-                if (law.getCategoryId() != null && law.getCategoryId() == selectedSubCategoryIdHash) {
+                if (law.getCategoryId() != null && index.isWithin(law.getCategoryId(), selected)) {
                     filteredLaws.add(law);
                 }
             }
@@ -142,40 +198,205 @@ public class FeedFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        RecyclerView mRecyclerView = view.findViewById(R.id.rv_content);
+        mPrefetcher = ArticlePrefetcher.getInstance(requireContext());
+        mRecyclerView = view.findViewById(R.id.rv_content);
         mRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         
-        // 加载第二层分类
-        mSubCategories = Sqlite3Dao.getSubCategories(requireContext(), mCategory.getId());
-        
-        // 加载所有法律数据（包括所有子分类的法律）
-        laws = Sqlite3Dao.getAllLawsByParentCategory(requireContext(), mCategory.getId());
-        
-        // 默认选中第一个子分类
-        if (mSubCategories != null && !mSubCategories.isEmpty()) {
-            mSelectedSubCategoryId = mSubCategories.get(0).getId();
-        }
-        
-        // 初始化过滤后的数据
-        filterLawsBySubCategory();
-        
         mAdapter = new FeedAdapter(requireContext());
-        mAdapter.setSubCategorySelectedListener(subCategoryId -> {
-            mSelectedSubCategoryId = subCategoryId;
+        mAdapter.setSubCategorySelectedListener(subCategory -> {
+            mSelectedSubCategory = subCategory;
+            mViewModel.setSelectedSubCategory(subCategory);
             List<Law> oldFilteredLaws = new ArrayList<>(filteredLaws != null ? filteredLaws : new ArrayList<>());
             filterLawsBySubCategory();
             // 更新适配器数据
             DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new FeedDiffCallBack(filteredLaws, oldFilteredLaws));
             diffResult.dispatchUpdatesTo(mAdapter);
+            updateFolders();
             mAdapter.setData(mCategory, filteredLaws);
+            schedulePrefetch();
         });
-        
-        // 设置子分类列表
-        mAdapter.setSubCategories(mSubCategories);
-        mAdapter.setData(mCategory, filteredLaws);
+        mAdapter.setFolderSelectedListener(new FeedAdapter.OnFolderSelectedListener() {
+            @Override
+            public void onFolderSelected(Category folder) {
+                mViewModel.enter(folder);
+            }
+
+            @Override
+            public void onParentSelected() {
+                mViewModel.up();
+            }
+        });
+        requireActivity().getOnBackPressedDispatcher().addCallback(getViewLifecycleOwner(), mBackCallback);
         
         MaterialDividerItemDecoration divider = new MaterialDividerItemDecoration(requireContext(), LinearLayoutManager.VERTICAL);
         mRecyclerView.addItemDecoration(divider);
         mRecyclerView.setAdapter(mAdapter);
+        mViewModel = new ViewModelProvider(requireActivity()).get(FeedViewModel.key(mCategory), FeedViewModel.class);
+        mViewModel.getFeed().observe(getViewLifecycleOwner(), this::showFeed);
+        mViewModel.getLevel().observe(getViewLifecycleOwner(), this::showLevel);
+        // 标题搜索覆盖全部分类，每个页面取自己的一组，视图重建时立即送达当前结果
+        new ViewModelProvider(requireActivity()).get(MainViewModel.class).getTitleResults()
+                .observe(getViewLifecycleOwner(), results -> {
+                    mAdapter.setTitleResults(results);
+                    changeLawRef(results != null ? results.getLaws(mCategory.getId()) : null);
+                });
+        mRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    schedulePrefetch();
+                } else {
+                    cancelPrefetch();
+                }
+            }
+        });
+    }
+
+    /**
+     * 视图重建时由 LiveData 立即送达已加载的数据，不再读取目录
+     */
+    private void showFeed(FeedViewModel.Feed feed) {
+        mSubCategories = feed.getSubCategories();
+        mAllLaws = feed.getLaws();
+        if (laws == null) {
+            laws = mAllLaws;
+        }
+        
+        // 恢复选中的子分类，默认选中第一个
+        mSelectedSubCategory = null;
+        if (mSubCategories != null && !mSubCategories.isEmpty()) {
+            mSelectedSubCategory = mSubCategories.get(0);
+            Category selected = mViewModel.getSelectedSubCategory();
+            if (selected != null) {
+                for (Category subCategory : mSubCategories) {
+                    if (subCategory.getId().equals(selected.getId())) {
+                        mSelectedSubCategory = subCategory;
+                        break;
+                    }
+                }
+            }
+            mViewModel.setSelectedSubCategory(mSelectedSubCategory);
+        }
+        
+        filterLawsBySubCategory();
+        
+        // 设置子分类列表
+        mAdapter.setSubCategories(mSubCategories);
+        if (mSelectedSubCategory != null) {
+            mAdapter.setSelectedSubCategoryId(mSelectedSubCategory.getId());
+        }
+        updateFolders();
+        mAdapter.setData(mCategory, filteredLaws);
+        schedulePrefetch();
+    }
+
+    /**
+     * 进入、返回目录或切换子分类后，这一层加载完成时显示；已离开的层级不再显示
+     */
+    private void showLevel(FeedViewModel.Level level) {
+        Category folder = mViewModel.getCurrentFolder();
+        if (folder == null || !level.getFolder().getCatalogId().equals(folder.getCatalogId())) {
+            return;
+        }
+        // 切换到另一层时回到顶部，视图重建时保留滚动位置
+        boolean changed = mLevel != null && mLevel != level;
+        mLevel = level;
+        if (laws == null) {
+            // 分类数据尚未送达，由 showFeed 显示
+            return;
+        }
+        filterLawsBySubCategory();
+        updateFolders();
+        mAdapter.setData(mCategory, filteredLaws);
+        if (changed && mRecyclerView != null) {
+            mRecyclerView.scrollToPosition(0);
+        }
+        schedulePrefetch();
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        // 页面首次显示时才加载，ViewPager2 只让当前页处于 RESUMED，相邻页面不会提前读取目录
+        mViewModel.load(mCategory.getId());
+        // ViewPager2 只让当前页处于 RESUMED，切换分类时旧页面在 onPause 中取消
+        schedulePrefetch();
+        updateBackCallback();
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        cancelPrefetch();
+        // 返回键只由当前页面处理
+        mBackCallback.setEnabled(false);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        cancelPrefetch();
+        mRecyclerView = null;
+        mViewModel = null;
+        // 视图重建后由 showFeed、showLevel 重新赋值
+        laws = null;
+        mLevel = null;
+    }
+
+    private void schedulePrefetch() {
+        if (mRecyclerView == null || !isResumed()) {
+            return;
+        }
+        mRecyclerView.removeCallbacks(mPrefetchTask);
+        mRecyclerView.postDelayed(mPrefetchTask, PREFETCH_DELAY_MS);
+    }
+
+    private void cancelPrefetch() {
+        if (mRecyclerView != null) {
+            mRecyclerView.removeCallbacks(mPrefetchTask);
+        }
+        if (mPrefetcher != null) {
+            mPrefetcher.cancel();
+        }
+    }
+
+    /**
+     * 预取可见的法规，其次是向下滑动将出现的几条，最后是上方紧邻的
+     */
+    private void prefetchVisible() {
+        if (mRecyclerView == null || mAdapter == null) {
+            return;
+        }
+        LinearLayoutManager manager = (LinearLayoutManager) mRecyclerView.getLayoutManager();
+        if (manager == null) {
+            return;
+        }
+        int first = manager.findFirstVisibleItemPosition();
+        int last = manager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        List<String> paths = new ArrayList<>();
+        for (int i = first; i <= last + PREFETCH_AHEAD && paths.size() < PREFETCH_MAX; i++) {
+            addMarkdownPath(paths, i);
+        }
+        for (int i = first - 1; i >= first - PREFETCH_BEHIND && paths.size() < PREFETCH_MAX; i--) {
+            addMarkdownPath(paths, i);
+        }
+        mPrefetcher.prefetch(paths);
+    }
+
+    /**
+     * 只有 MD 文件经 ArticleCache 加载，其他类型由 WebView 显示
+     */
+    private void addMarkdownPath(List<String> paths, int position) {
+        String path = mAdapter.getPath(position);
+        if (path == null) {
+            return;
+        }
+        int dot = path.lastIndexOf('.');
+        if (dot == -1 || "md".equalsIgnoreCase(path.substring(dot + 1))) {
+            paths.add(path);
+        }
     }
 }
\ No newline at end of file
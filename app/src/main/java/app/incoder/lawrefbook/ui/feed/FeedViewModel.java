@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.ui.feed;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import app.incoder.lawrefbook.sqlite.Sqlite3Dao;
+import app.incoder.lawrefbook.storage.Category;
+import app.incoder.lawrefbook.storage.Law;
+
+/**
+ * FeedViewModel
+ * <p>
+ * 一个分类页面的数据，以分类 id 为 key 保存在 Activity 作用域，屏幕旋转、深色模式切换及 ViewPager2 回收页面后
+ * 重建视图时直接取用，不再读取目录；选中的子分类与其下逐级进入的目录一并保留。
+ * 子分类下的目录在进入时才加载一层，已加载的层级缓存在实例中
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 20:40
+ */
+public class FeedViewModel extends AndroidViewModel {
+
+    /**
+     * thread full parameters
+     * corePoolSize：2
+     * maximumPoolSize：2
+     * keepAliveTime：survival 30 seconds
+     * workQueue：LinkedBlockingQueue
+     * threadFactory：defaultThreadFactory
+     * handlerPolicy：AbortPolicy
+     */
+    private static final ThreadPoolExecutor FEED_EXECUTOR;
+
+    static {
+        FEED_EXECUTOR = new ThreadPoolExecutor(2,
+                2
+                , 30
+                , TimeUnit.SECONDS
+                , new LinkedBlockingQueue<>()
+                , Executors.defaultThreadFactory()
+                , new ThreadPoolExecutor.AbortPolicy());
+        FEED_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final MutableLiveData<Feed> mFeed = new MutableLiveData<>();
+    private final MutableLiveData<Level> mLevel = new MutableLiveData<>();
+    /**
+     * 已加载的层级，key 为目录的 {@link Category#getCatalogId()}
+     */
+    private final Map<Integer, Level> mLevels = new ConcurrentHashMap<>();
+    /**
+     * 选中的子分类之下逐级进入的目录
+     */
+    private final List<Category> mTrail = new ArrayList<>();
+    private String mCategoryId;
+    private Category mSelectedSubCategory;
+
+    public FeedViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    /**
+     * 取得分类页面对应的实例
+     */
+    public static String key(Category category) {
+        return FeedViewModel.class.getName() + ":" + category.getId();
+    }
+
+    /**
+     * 子分类与法律，加载完成后发布一次
+     */
+    public LiveData<Feed> getFeed() {
+        return mFeed;
+    }
+
+    /**
+     * 在后台线程加载，重复调用不会重新加载
+     *
+     * @param categoryId 第一层分类 id
+     */
+    public void load(@NonNull String categoryId) {
+        if (categoryId.equals(mCategoryId)) {
+            return;
+        }
+        mCategoryId = categoryId;
+        Application application = getApplication();
+        FEED_EXECUTOR.execute(() -> {
+            List<Category> subCategories = Sqlite3Dao.getSubCategories(application, categoryId);
+            List<Law> laws = Sqlite3Dao.getAllLawsByParentCategory(application, categoryId);
+            mFeed.postValue(new Feed(subCategories, laws));
+        });
+    }
+
+    /**
+     * 选中的子分类，尚未选择时为 null
+     */
+    public Category getSelectedSubCategory() {
+        return mSelectedSubCategory;
+    }
+
+    /**
+     * 选中子分类并加载其第一层，与当前选中的相同时保留已进入的目录
+     */
+    public void setSelectedSubCategory(Category subCategory) {
+        if (mSelectedSubCategory == null || !mSelectedSubCategory.getId().equals(subCategory.getId())) {
+            mTrail.clear();
+        }
+        mSelectedSubCategory = subCategory;
+        open(getCurrentFolder());
+    }
+
+    /**
+     * 当前显示的目录层级，只在主线程读取
+     */
+    public LiveData<Level> getLevel() {
+        return mLevel;
+    }
+
+    /**
+     * 当前所在的目录，未选择子分类时为 null
+     */
+    public Category getCurrentFolder() {
+        return mTrail.isEmpty() ? mSelectedSubCategory : mTrail.get(mTrail.size() - 1);
+    }
+
+    /**
+     * 是否已进入子分类下的目录
+     */
+    public boolean canGoUp() {
+        return !mTrail.isEmpty();
+    }
+
+    /**
+     * 进入当前目录下的一个目录
+     */
+    public void enter(@NonNull Category folder) {
+        mTrail.add(folder);
+        open(folder);
+    }
+
+    /**
+     * 返回上一级目录
+     *
+     * @return 已在子分类这一层时为 false
+     */
+    public boolean up() {
+        if (mTrail.isEmpty()) {
+            return false;
+        }
+        mTrail.remove(mTrail.size() - 1);
+        open(getCurrentFolder());
+        return true;
+    }
+
+    /**
+     * 已加载的层级直接发布，否则在后台线程读取这一层
+     */
+    private void open(Category folder) {
+        if (folder == null || folder.getCatalogId() == null) {
+            return;
+        }
+        int catalogId = folder.getCatalogId();
+        Level cached = mLevels.get(catalogId);
+        if (cached != null) {
+            mLevel.setValue(cached);
+            return;
+        }
+        Application application = getApplication();
+        FEED_EXECUTOR.execute(() -> {
+            Level level = new Level(folder,
+                    Sqlite3Dao.getChildCategories(application, catalogId),
+                    Sqlite3Dao.getLawsByCategory(application, catalogId));
+            mLevels.put(catalogId, level);
+            mLevel.postValue(level);
+        });
+    }
+
+    public static final class Feed {
+
+        private final List<Category> mSubCategories;
+        private final List<Law> mLaws;
+
+        Feed(List<Category> subCategories, List<Law> laws) {
+            mSubCategories = subCategories;
+            mLaws = laws;
+        }
+
+        /**
+         * 第二层分类
+         */
+        public List<Category> getSubCategories() {
+            return mSubCategories;
+        }
+
+        /**
+         * 分类及其子分类下的全部法律
+         */
+        public List<Law> getLaws() {
+            return mLaws;
+        }
+    }
+
+    /**
+     * 一层目录：直接包含的目录与法律
+     */
+    public static final class Level {
+
+        private final Category mFolder;
+        private final List<Category> mFolders;
+        private final List<Law> mLaws;
+
+        Level(Category folder, List<Category> folders, List<Law> laws) {
+            mFolder = folder;
+            mFolders = folders;
+            mLaws = laws;
+        }
+
+        /**
+         * 这一层所在的目录
+         */
+        public Category getFolder() {
+            return mFolder;
+        }
+
+        /**
+         * 下一层目录
+         */
+        public List<Category> getFolders() {
+            return mFolders;
+        }
+
+        /**
+         * 目录直接包含的法律
+         */
+        public List<Law> getLaws() {
+            return mLaws;
+        }
+    }
+}
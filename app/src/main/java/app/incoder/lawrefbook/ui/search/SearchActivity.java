@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.ui.search;
+
+import android.os.Bundle;
+import android.view.MenuItem;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.appcompat.app.ActionBar;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import app.incoder.lawrefbook.R;
+
+/**
+ * SearchActivity
+ * <p>
+ * 全部法规正文的全文检索，输入变化即在后台检索，结果按相关度排序，点击后打开法规并定位到命中的条目
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public class SearchActivity extends AppCompatActivity {
+
+    private SearchViewModel mViewModel;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_search);
+        ActionBar actionBar = getSupportActionBar();
+        if (actionBar != null) {
+            actionBar.setTitle(R.string.menu_full_text_search);
+            actionBar.setDisplayHomeAsUpEnabled(true);
+        }
+        mViewModel = new ViewModelProvider(this).get(SearchViewModel.class);
+
+        SearchAdapter adapter = new SearchAdapter();
+        RecyclerView recyclerView = findViewById(R.id.rv_search);
+        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        recyclerView.setAdapter(adapter);
+
+        TextView count = findViewById(R.id.tv_search_count);
+        mViewModel.getResults().observe(this, results -> {
+            adapter.setResults(results);
+            if (results == null) {
+                count.setVisibility(View.GONE);
+            } else {
+                count.setVisibility(View.VISIBLE);
+                count.setText(String.format(getString(R.string.search_count), results.getTotal()));
+            }
+        });
+
+        SearchView searchView = findViewById(R.id.sv_search);
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                mViewModel.search(query);
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                mViewModel.search(newText);
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == android.R.id.home) {
+            getOnBackPressedDispatcher().onBackPressed();
+            return false;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+}
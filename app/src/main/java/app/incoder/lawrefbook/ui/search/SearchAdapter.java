@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.ui.search;
+
+import android.content.Context;
+import android.content.Intent;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Collections;
+import java.util.List;
+
+import app.incoder.lawrefbook.R;
+import app.incoder.lawrefbook.ui.content.ContentActivity;
+
+/**
+ * SearchAdapter
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public class SearchAdapter extends RecyclerView.Adapter<SearchAdapter.SearchViewHolder> {
+
+    private List<SearchViewModel.Item> mItems = Collections.emptyList();
+    private String mQuery;
+
+    void setResults(SearchViewModel.Results results) {
+        if (results == null) {
+            mItems = Collections.emptyList();
+            mQuery = null;
+        } else {
+            mItems = results.getItems();
+            mQuery = results.getQuery();
+        }
+        notifyDataSetChanged();
+    }
+
+    @NonNull
+    @Override
+    public SearchViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_search, parent, false);
+        return new SearchViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SearchViewHolder holder, int position) {
+        SearchViewModel.Item item = mItems.get(position);
+        Context context = holder.itemView.getContext();
+        holder.mTitle.setText(item.getTitle());
+        String snippet = item.getSnippet();
+        holder.mSnippet.setVisibility(snippet != null ? View.VISIBLE : View.GONE);
+        if (snippet != null) {
+            holder.mSnippet.setText(highlight(context, snippet, mQuery));
+        }
+        String folder = folder(item.getPath());
+        holder.mFolder.setText(String.format(context.getString(R.string.article_folder), folder));
+        holder.itemView.setOnClickListener(v -> {
+            Intent intent = new Intent(context, ContentActivity.class)
+                    .putExtra(ContentActivity.Path, item.getPath())
+                    .putExtra(ContentActivity.Folder, folder)
+                    .putExtra(ContentActivity.Title, item.getTitle())
+                    .putExtra(ContentActivity.FileType, "md")
+                    .putExtra(ContentActivity.Position, item.getPosition());
+            context.startActivity(intent);
+        });
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItems.size();
+    }
+
+    /**
+     * 法规所在目录，即路径中文件名之前的部分
+     */
+    private static String folder(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash == -1 ? path : path.substring(0, slash);
+    }
+
+    /**
+     * 标出查询中以空白分隔的每个词
+     */
+    private static CharSequence highlight(Context context, String snippet, String query) {
+        if (query == null) {
+            return snippet;
+        }
+        SpannableString spannable = new SpannableString(snippet);
+        for (String word : query.split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            int index = snippet.indexOf(word);
+            while (index != -1) {
+                spannable.setSpan(new ForegroundColorSpan(context.getColor(R.color.searchHighlight)),
+                        index, index + word.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                index = snippet.indexOf(word, index + word.length());
+            }
+        }
+        return spannable;
+    }
+
+    static class SearchViewHolder extends RecyclerView.ViewHolder {
+
+        private final TextView mTitle;
+        private final TextView mSnippet;
+        private final TextView mFolder;
+
+        SearchViewHolder(@NonNull View itemView) {
+            super(itemView);
+            mTitle = itemView.findViewById(R.id.tv_search_title);
+            mSnippet = itemView.findViewById(R.id.tv_search_snippet);
+            mFolder = itemView.findViewById(R.id.tv_search_folder);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.ui.search;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import app.incoder.lawrefbook.cache.ArticleCache;
+import app.incoder.lawrefbook.parser.ArticleCodec;
+import app.incoder.lawrefbook.search.SearchEngine;
+import app.incoder.lawrefbook.search.SearchIndex;
+import app.incoder.lawrefbook.util.MappedAssets;
+
+/**
+ * SearchViewModel
+ * <p>
+ * 在后台线程检索 {@link SearchIndex}，先发布命中的法规与条目位置，再从预编译文件中只读出前几条命中的条目作为摘要后再次发布，
+ * 不解码整篇，也不放入 {@link ArticleCache}，阅读中的文章不会因搜索被淘汰。
+ * 新的查询使尚未完成的旧查询作废，索引在进程内只映射一次
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public class SearchViewModel extends AndroidViewModel {
+
+    private static final String TAG = "SearchViewModel";
+
+    /**
+     * thread full parameters
+     * corePoolSize：1
+     * maximumPoolSize：1
+     * keepAliveTime：survival 30 seconds
+     * workQueue：LinkedBlockingQueue
+     * threadFactory：defaultThreadFactory
+     * handlerPolicy：AbortPolicy
+     */
+    private static final ThreadPoolExecutor SEARCH_EXECUTOR;
+
+    /**
+     * 最多展示的命中数
+     */
+    private static final int LIMIT = 100;
+    /**
+     * 加载摘要的命中数，其余的在滚动到时仍显示条目位置
+     */
+    private static final int SNIPPET_COUNT = 30;
+    /**
+     * 摘要字数，命中处之前保留 {@link #SNIPPET_BEFORE} 字
+     */
+    private static final int SNIPPET_LENGTH = 80;
+    private static final int SNIPPET_BEFORE = 16;
+
+    private static volatile SearchEngine sEngine;
+
+    static {
+        SEARCH_EXECUTOR = new ThreadPoolExecutor(1,
+                1
+                , 30
+                , TimeUnit.SECONDS
+                , new LinkedBlockingQueue<>()
+                , Executors.defaultThreadFactory()
+                , new ThreadPoolExecutor.AbortPolicy());
+        SEARCH_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final MutableLiveData<Results> mResults = new MutableLiveData<>();
+    /**
+     * 每次查询加一，旧查询发现代数变化后停止
+     */
+    private final AtomicInteger mGeneration = new AtomicInteger();
+
+    public SearchViewModel(@NonNull Application application) {
+        super(application);
+    }
+
+    public LiveData<Results> getResults() {
+        return mResults;
+    }
+
+    /**
+     * 在后台线程检索，替换之前尚未完成的查询
+     */
+    public void search(@NonNull String query) {
+        int generation = mGeneration.incrementAndGet();
+        String trimmed = query.trim();
+        if (trimmed.isEmpty()) {
+            mResults.setValue(null);
+            return;
+        }
+        Application application = getApplication();
+        SEARCH_EXECUTOR.execute(() -> {
+            if (mGeneration.get() != generation) {
+                return;
+            }
+            SearchEngine.Result result;
+            try {
+                result = getEngine(application).search(trimmed, LIMIT);
+            } catch (IOException e) {
+                Log.e(TAG, "search failed", e);
+                mResults.postValue(new Results(trimmed, 0, Collections.emptyList()));
+                return;
+            }
+            List<Item> items = new ArrayList<>(result.getHits().size());
+            for (SearchEngine.Hit hit : result.getHits()) {
+                items.add(new Item(hit.getPath(), hit.getTitle(), hit.getPosition(), null));
+            }
+            if (mGeneration.get() != generation) {
+                return;
+            }
+            mResults.postValue(new Results(trimmed, result.getTotal(), Collections.unmodifiableList(items)));
+
+            List<Item> withSnippets = new ArrayList<>(items);
+            for (int i = 0; i < Math.min(SNIPPET_COUNT, items.size()); i++) {
+                if (mGeneration.get() != generation) {
+                    return;
+                }
+                Item item = items.get(i);
+                String rule = readRule(application, item.getPath(), item.getPosition());
+                if (rule != null) {
+                    withSnippets.set(i, new Item(item.getPath(), item.getTitle(), item.getPosition(),
+                            snippet(rule, trimmed)));
+                }
+            }
+            mResults.postValue(new Results(trimmed, result.getTotal(), Collections.unmodifiableList(withSnippets)));
+        });
+    }
+
+    private static SearchEngine getEngine(Application application) throws IOException {
+        if (sEngine == null) {
+            synchronized (SearchViewModel.class) {
+                if (sEngine == null) {
+                    sEngine = new SearchEngine(SearchIndex.read(MappedAssets.map(application, SearchIndex.ASSET_PATH)));
+                }
+            }
+        }
+        return sEngine;
+    }
+
+    /**
+     * 命中条目的文字，没有预编译文件或读取失败时为 null
+     */
+    private static String readRule(Application application, String path, int position) {
+        try {
+            return ArticleCodec.readRule(MappedAssets.map(application, ArticleCodec.compiledPath(path)), position);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 条目中以查询首个词开头的一段，找不到时取条目开头
+     */
+    private static String snippet(String text, String query) {
+        int space = query.indexOf(' ');
+        String first = space == -1 ? query : query.substring(0, space);
+        int hit = text.indexOf(first);
+        int start = hit <= SNIPPET_BEFORE ? 0 : hit - SNIPPET_BEFORE;
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        return (start > 0 ? "…" : "") + text.substring(start, end) + (end < text.length() ? "…" : "");
+    }
+
+    @Override
+    protected void onCleared() {
+        mGeneration.incrementAndGet();
+    }
+
+    /**
+     * 一次查询的结果
+     */
+    public static final class Results {
+
+        private final String mQuery;
+        private final int mTotal;
+        private final List<Item> mItems;
+
+        Results(String query, int total, List<Item> items) {
+            mQuery = query;
+            mTotal = total;
+            mItems = items;
+        }
+
+        public String getQuery() {
+            return mQuery;
+        }
+
+        /**
+         * 命中的条目总数，可能多于 {@link #getItems()}
+         */
+        public int getTotal() {
+            return mTotal;
+        }
+
+        public List<Item> getItems() {
+            return mItems;
+        }
+    }
+
+    /**
+     * 命中的条目及其摘要
+     */
+    public static final class Item {
+
+        private final String mPath;
+        private final String mTitle;
+        private final int mPosition;
+        private final String mSnippet;
+
+        Item(String path, String title, int position, String snippet) {
+            mPath = path;
+            mTitle = title;
+            mPosition = position;
+            mSnippet = snippet;
+        }
+
+        /**
+         * 法规的 assets 路径
+         */
+        public String getPath() {
+            return mPath;
+        }
+
+        public String getTitle() {
+            return mTitle;
+        }
+
+        /**
+         * 条目在法规 contents 中的下标
+         */
+        public int getPosition() {
+            return mPosition;
+        }
+
+        /**
+         * 尚未加载时为 null
+         */
+        public String getSnippet() {
+            return mSnippet;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.util;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * MappedAssets
+ * <p>
+ * 以只读 mmap 方式打开 assets，法规文件在 build.gradle 中配置了 noCompress，直接映射 APK 中对应的区段，
+ * 读取时只产生缺页而不复制到 Java 堆。压缩存储的 assets 无法映射，回退为一次性读入堆内存
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 11:40
+ */
+public class MappedAssets {
+
+    private MappedAssets() {
+    }
+
+    /**
+     * 映射 assets 文件
+     *
+     * @param context 上下文
+     * @param path    assets 相对路径
+     * @return position = 0 的缓冲，调用方只读不写
+     * @throws FileNotFoundException 文件不存在
+     */
+    public static ByteBuffer map(Context context, String path) throws IOException {
+        AssetManager assetManager = context.getAssets();
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = assetManager.openFd(path);
+        } catch (FileNotFoundException e) {
+            // 文件不存在或被压缩，open 会区分这两种情况
+            return read(assetManager, path);
+        }
+        try (AssetFileDescriptor afd = descriptor;
+             FileInputStream stream = afd.createInputStream();
+             FileChannel channel = stream.getChannel()) {
+            // 映射在 channel 关闭后依然有效
+            return channel.map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+        }
+    }
+
+    private static ByteBuffer read(AssetManager assetManager, String path) throws IOException {
+        try (InputStream in = assetManager.open(path, AssetManager.ACCESS_BUFFER)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 1024));
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.content.ComponentCallbacks2;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.CompactArticle;
+import app.incoder.lawrefbook.model.Content;
+
+/**
+ * ArticleCacheTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 12:20
+ */
+public class ArticleCacheTest {
+
+    private final List<String> mLoaded = new ArrayList<>();
+
+    @Test
+    public void repeatOpenHitsCache() {
+        ArticleCache cache = new ArticleCache(1024 * 1024, (path, listener) -> load(path));
+        CompactArticle first = cache.get("Laws/刑法/刑法.md");
+        assertSame(first, cache.get("Laws/刑法/刑法.md"));
+        assertEquals(1, mLoaded.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        int articleSize = CompactArticle.of(load("a")).estimateBytes();
+        mLoaded.clear();
+        ArticleCache cache = new ArticleCache(articleSize * 2, (path, listener) -> load(path));
+        cache.get("a");
+        cache.get("b");
+        // a 最近被访问，放入 c 时淘汰 b
+        cache.get("a");
+        cache.get("c");
+        cache.get("a");
+        cache.get("b");
+        assertEquals(List.of("a", "b", "c", "b"), mLoaded);
+    }
+
+    @Test
+    public void prefetchSkipsStatistics() {
+        ArticleCache cache = new ArticleCache(1024 * 1024, (path, listener) -> load(path));
+        assertTrue(cache.prefetch("a"));
+        assertFalse(cache.prefetch("a"));
+        assertTrue(cache.contains("a"));
+        assertEquals(0, cache.getMissCount());
+        cache.get("a");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(List.of("a"), mLoaded);
+    }
+
+    @Test
+    public void evictedIsNotContained() {
+        int articleSize = CompactArticle.of(load("a")).estimateBytes();
+        ArticleCache cache = new ArticleCache(articleSize, (path, listener) -> load(path));
+        cache.get("a");
+        cache.get("b");
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        cache.clear();
+        assertFalse(cache.contains("b"));
+    }
+
+    @Test
+    public void unparsableIsNotCached() {
+        ArticleCache cache = new ArticleCache(1024, (path, listener) -> null);
+        assertNull(cache.get("missing.md"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void trimMemory() {
+        ArticleCache cache = new ArticleCache(1024 * 1024, (path, listener) -> load(path));
+        cache.get("a");
+        cache.get("b");
+        cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+        assertEquals(2 * CompactArticle.of(load("a")).estimateBytes(), cache.getSize());
+        cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+        assertEquals(CompactArticle.of(load("a")).estimateBytes(), cache.getSize());
+        cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        assertEquals(0, cache.getSize());
+    }
+
+    private Article load(String path) {
+        mLoaded.add(path);
+        Content content = new Content();
+        content.setType(2);
+        content.setRule("第一条 " + path);
+        List<Content> contents = new ArrayList<>();
+        contents.add(content);
+        Article article = new Article();
+        article.setContents(contents);
+        article.setToc(new ArrayList<>());
+        return article;
+    }
+}
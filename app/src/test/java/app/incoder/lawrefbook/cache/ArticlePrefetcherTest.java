@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.Content;
+
+/**
+ * ArticlePrefetcherTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 16:50
+ */
+public class ArticlePrefetcherTest {
+
+    private final List<String> mLoaded = new ArrayList<>();
+    private final List<Runnable> mQueued = new ArrayList<>();
+    private final ArticleCache mCache = new ArticleCache(1024 * 1024, (path, listener) -> load(path));
+
+    @Test
+    public void prefetchedOpenIsHit() {
+        ArticlePrefetcher prefetcher = new ArticlePrefetcher(mCache, Runnable::run);
+        prefetcher.prefetch(List.of("a", "b"));
+        assertEquals(List.of("a", "b"), mLoaded);
+        assertEquals(2, prefetcher.getPrefetchCount());
+
+        prefetcher.recordOpen("a");
+        prefetcher.recordOpen("c");
+        assertEquals(1, prefetcher.getHitCount());
+        assertEquals(1, prefetcher.getMissCount());
+        // 打开时直接命中缓存，不再加载
+        mCache.get("a");
+        assertEquals(List.of("a", "b"), mLoaded);
+    }
+
+    @Test
+    public void skipsCachedArticles() {
+        mCache.get("a");
+        ArticlePrefetcher prefetcher = new ArticlePrefetcher(mCache, Runnable::run);
+        prefetcher.prefetch(List.of("a", "b"));
+        assertEquals(List.of("a", "b"), mLoaded);
+        assertEquals(1, prefetcher.getPrefetchCount());
+    }
+
+    @Test
+    public void newRequestReplacesPending() {
+        ArticlePrefetcher prefetcher = new ArticlePrefetcher(mCache, mQueued::add);
+        prefetcher.prefetch(List.of("a", "b"));
+        prefetcher.prefetch(List.of("c"));
+        mQueued.forEach(Runnable::run);
+        assertEquals(List.of("c"), mLoaded);
+        assertEquals(1, prefetcher.getCancelCount());
+    }
+
+    @Test
+    public void cancelStopsPending() {
+        ArticlePrefetcher prefetcher = new ArticlePrefetcher(mCache, mQueued::add);
+        prefetcher.prefetch(List.of("a", "b"));
+        prefetcher.cancel();
+        mQueued.forEach(Runnable::run);
+        assertTrue(mLoaded.isEmpty());
+        prefetcher.recordOpen("a");
+        assertEquals(1, prefetcher.getMissCount());
+    }
+
+    private Article load(String path) {
+        mLoaded.add(path);
+        Content content = new Content();
+        content.setType(2);
+        content.setRule("第一条 " + path);
+        List<Content> contents = new ArrayList<>();
+        contents.add(content);
+        Article article = new Article();
+        article.setContents(contents);
+        article.setToc(new ArrayList<>());
+        return article;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.catalog;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * CatalogIndexTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 18:20
+ */
+public class CatalogIndexTest {
+
+    private final TreeMap<String, Long> mFiles = new TreeMap<>();
+
+    private CatalogIndex build() throws IOException {
+        mFiles.put("Laws/1、宪法/宪法.md", 50L);
+        mFiles.put("Laws/1、宪法/README", 1L);
+        mFiles.put("Laws/2、案例/总则.md", 1L);
+        mFiles.put("Laws/2、案例/一、民法/a1.md", 10L);
+        mFiles.put("Laws/2、案例/一、民法/a2.md", 11L);
+        mFiles.put("Laws/2、案例/一、民法/a3.docx", 12L);
+        mFiles.put("Laws/2、案例/二、劳动/b1.md", 20L);
+        mFiles.put("Laws/2、案例/三、深层/子目录/更深/c.md", 5L);
+        mFiles.put("Laws/3.txt/x.md", 1L);
+        return CatalogIndex.of(CatalogManifest.scan(new CatalogManifest.Source() {
+            @Override
+            public String[] list(String path) {
+                List<String> names = new ArrayList<>();
+                String prefix = path + "/";
+                for (String file : mFiles.keySet()) {
+                    if (file.startsWith(prefix)) {
+                        String name = file.substring(prefix.length()).split("/")[0];
+                        if (!names.contains(name)) {
+                            names.add(name);
+                        }
+                    }
+                }
+                return names.toArray(new String[0]);
+            }
+
+            @Override
+            public long size(String path) {
+                Long size = mFiles.get(path);
+                return size != null ? size : -1;
+            }
+        }));
+    }
+
+    @Test
+    public void categoriesAreDense() throws IOException {
+        CatalogIndex index = build();
+        assertEquals(2, index.getTopCategoryCount());
+        assertEquals(7, index.getCategoryCount());
+        assertEquals("1、宪法", index.getCategoryName(0));
+        assertEquals("2、案例", index.getCategoryName(1));
+        assertEquals(CatalogIndex.NO_ID, index.getCategoryParent(1));
+        assertEquals(2, index.getSubCategoryStart(1));
+        assertEquals(5, index.getSubCategoryEnd(1));
+        assertEquals(index.getSubCategoryStart(0), index.getSubCategoryEnd(0));
+        assertEquals("一、民法", index.getCategoryName(2));
+        assertEquals(1, index.getCategoryParent(3));
+        assertEquals(3, index.findCategory("Laws/2、案例/二、劳动"));
+        assertEquals(4, index.findCategory("Laws/2、案例/三、深层"));
+        // 更深的目录逐层排在第二层之后
+        assertEquals(5, index.findCategory("Laws/2、案例/三、深层/子目录"));
+        assertEquals(6, index.findCategory("Laws/2、案例/三、深层/子目录/更深"));
+        assertEquals(5, index.getSubCategoryStart(4));
+        assertEquals(6, index.getSubCategoryEnd(4));
+        assertEquals(5, index.getCategoryParent(6));
+        assertEquals(CatalogIndex.NO_ID, index.findCategory("Laws/3.txt"));
+    }
+
+    @Test
+    public void lawsAreContiguousPerCategory() throws IOException {
+        CatalogIndex index = build();
+        assertEquals(7, index.getLawCount());
+        int sub = index.findCategory("Laws/2、案例/一、民法");
+        assertEquals(3, index.getLawEnd(sub) - index.getLawStart(sub));
+        int law = index.getLawStart(sub) + 2;
+        assertEquals("a3.docx", index.getLawFile(law));
+        assertEquals("a3", index.getLawTitle(law));
+        assertEquals("Laws/2、案例/一、民法/a3.docx", index.getLawPath(law));
+        assertEquals(12L, index.getLawSize(law));
+        assertEquals(sub, index.getLawCategory(law));
+        assertEquals(2, index.getLawOrder(law));
+        // README 不是支持的类型
+        assertEquals(1, index.getLawEnd(0) - index.getLawStart(0));
+    }
+
+    @Test
+    public void deeperFoldersAreCategories() throws IOException {
+        CatalogIndex index = build();
+        int sub = index.findCategory("Laws/2、案例/三、深层");
+        int deepest = index.findCategory("Laws/2、案例/三、深层/子目录/更深");
+        assertEquals(0, index.getLawEnd(sub) - index.getLawStart(sub));
+        assertEquals(1, index.getLawEnd(deepest) - index.getLawStart(deepest));
+        int law = index.getLawStart(deepest);
+        assertEquals("Laws/2、案例/三、深层/子目录/更深/c.md", index.getLawPath(law));
+        assertEquals(deepest, index.getLawCategory(law));
+        assertEquals(law, index.findLaw("Laws/2、案例/三、深层/子目录/更深/c.md"));
+        assertEquals(CatalogIndex.NO_ID, index.findLaw("Laws/2、案例/三、深层/c.md"));
+        assertEquals(1, index.getTopCategory(deepest));
+        assertEquals(0, index.getTopCategory(0));
+    }
+
+    @Test
+    public void withinFollowsParents() throws IOException {
+        CatalogIndex index = build();
+        int sub = index.findCategory("Laws/2、案例/三、深层");
+        int deepest = index.findCategory("Laws/2、案例/三、深层/子目录/更深");
+        assertTrue(index.isWithin(deepest, sub));
+        assertTrue(index.isWithin(deepest, 1));
+        assertTrue(index.isWithin(sub, sub));
+        assertFalse(index.isWithin(deepest, index.findCategory("Laws/2、案例/一、民法")));
+        assertFalse(index.isWithin(sub, deepest));
+    }
+
+    @Test
+    public void treeLawsInterleaveSubCategories() throws IOException {
+        CatalogIndex index = build();
+        int[] tree = index.getTreeLaws(1);
+        String[] files = new String[tree.length];
+        for (int i = 0; i < tree.length; i++) {
+            files[i] = index.getLawFile(tree[i]);
+        }
+        assertArrayEquals(new String[]{"总则.md", "a1.md", "b1.md", "c.md", "a2.md", "a3.docx"}, files);
+    }
+
+    @Test
+    public void emptyManifest() {
+        CatalogIndex index = CatalogIndex.of(CatalogManifest.empty());
+        assertEquals(0, index.getCategoryCount());
+        assertEquals(0, index.getLawCount());
+        assertEquals(CatalogIndex.NO_ID, index.findCategory("Laws/刑法"));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CatalogManifestTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 17:30
+ */
+public class CatalogManifestTest {
+
+    /**
+     * 路径 -> 大小，目录由路径前缀推出
+     */
+    private final Map<String, Long> mFiles = new HashMap<>();
+
+    private final CatalogManifest.Source mSource = new CatalogManifest.Source() {
+        @Override
+        public String[] list(String path) {
+            List<String> names = new ArrayList<>();
+            String prefix = path + "/";
+            for (String file : mFiles.keySet()) {
+                if (file.startsWith(prefix)) {
+                    String name = file.substring(prefix.length()).split("/")[0];
+                    if (!names.contains(name)) {
+                        names.add(name);
+                    }
+                }
+            }
+            return names.toArray(new String[0]);
+        }
+
+        @Override
+        public long size(String path) {
+            Long size = mFiles.get(path);
+            return size != null ? size : -1;
+        }
+    };
+
+    private CatalogManifest scan() throws IOException {
+        mFiles.put("Laws/2、刑法/刑法.md", 100L);
+        mFiles.put("Laws/1、宪法/宪法.md", 50L);
+        mFiles.put("Laws/1、宪法/README", 1L);
+        mFiles.put("Laws/10、案例/二、劳动/案例二.docx", 20L);
+        mFiles.put("Laws/10、案例/一、民法/案例一.md", 10L);
+        mFiles.put("Laws/10、案例/三、深层/子目录/更深/a.md", 5L);
+        return CatalogManifest.scan(mSource);
+    }
+
+    @Test
+    public void scanSortsByNumberPrefix() throws IOException {
+        CatalogManifest manifest = scan();
+        List<CatalogManifest.Folder> categories = manifest.getRoot().getFolders();
+        assertEquals(3, categories.size());
+        assertEquals("1、宪法", categories.get(0).getName());
+        assertEquals("2、刑法", categories.get(1).getName());
+        assertEquals("10、案例", categories.get(2).getName());
+
+        CatalogManifest.Folder cases = manifest.getFolder("Laws/10、案例");
+        assertEquals("一、民法", cases.getFolders().get(0).getName());
+        assertEquals("二、劳动", cases.getFolders().get(1).getName());
+        assertEquals("三、深层", cases.getFolders().get(2).getName());
+        assertEquals(0, cases.getFolders().get(0).getHeight());
+        assertEquals(2, cases.getFolders().get(2).getHeight());
+        assertEquals(3, cases.getHeight());
+    }
+
+    @Test
+    public void filesCarryTypeAndSize() throws IOException {
+        CatalogManifest.Folder constitution = scan().getFolder("Laws/1、宪法");
+        assertEquals(2, constitution.getFiles().size());
+        CatalogManifest.LawFile file = constitution.getFiles().get(1);
+        assertEquals("宪法.md", file.getName());
+        assertEquals("宪法", file.getTitle());
+        assertEquals("md", file.getType());
+        assertEquals(50L, file.getSize());
+        assertEquals("", constitution.getFiles().get(0).getType());
+        assertEquals("docx", scan().getFolder("Laws/10、案例/二、劳动").getFiles().get(0).getType());
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        CatalogManifest manifest = scan();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.write(new DataOutputStream(bytes));
+        CatalogManifest read = CatalogManifest.read(ByteBuffer.wrap(bytes.toByteArray()));
+        assertSameTree(manifest.getRoot(), read.getRoot());
+        assertNull(read.getFolder("Laws/不存在"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignData() throws IOException {
+        CatalogManifest.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6}));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedData() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        scan().write(new DataOutputStream(bytes));
+        byte[] data = bytes.toByteArray();
+        CatalogManifest.read(ByteBuffer.wrap(data, 0, data.length - 3).slice());
+    }
+
+    private static void assertSameTree(CatalogManifest.Folder expected, CatalogManifest.Folder actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPath(), actual.getPath());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getFiles().size(), actual.getFiles().size());
+        for (int i = 0; i < expected.getFiles().size(); i++) {
+            assertEquals(expected.getFiles().get(i).getName(), actual.getFiles().get(i).getName());
+            assertEquals(expected.getFiles().get(i).getSize(), actual.getFiles().get(i).getSize());
+        }
+        assertEquals(expected.getFolders().size(), actual.getFolders().size());
+        for (int i = 0; i < expected.getFolders().size(); i++) {
+            assertSameTree(expected.getFolders().get(i), actual.getFolders().get(i));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.catalog;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * NumberPrefixComparatorTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 18:50
+ */
+public class NumberPrefixComparatorTest {
+
+    @Test
+    public void collationKey() {
+        assertEquals(1, NumberPrefixComparator.collationKey("一、宪法"));
+        assertEquals(21, NumberPrefixComparator.collationKey("二十一、案例"));
+        assertEquals(105, NumberPrefixComparator.collationKey("一百零五、附录"));
+        assertEquals(100, NumberPrefixComparator.collationKey("第一百编"));
+        assertEquals(3, NumberPrefixComparator.collationKey("第3章 总则"));
+        assertEquals(12, NumberPrefixComparator.collationKey("12.md"));
+        assertEquals(7, NumberPrefixComparator.collationKey("7 劳动法"));
+    }
+
+    @Test
+    public void withoutNumber() {
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey("宪法.md"));
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey("2020年修正"));
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey("一"));
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey("第"));
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey("万、"));
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey(""));
+        assertEquals(NumberPrefixComparator.NO_NUMBER, NumberPrefixComparator.collationKey("1234567890、超长"));
+    }
+
+    @Test
+    public void sortByNumberThenName() {
+        String[] names = {"README", "十、十", "二十一、b", "2、a", "二十、a", "一、z", "1、y", "附录", "第一百编"};
+        String[] expected = {"1、y", "一、z", "2、a", "十、十", "二十、a", "二十一、b", "第一百编", "README", "附录"};
+        String[] sorted = names.clone();
+        NumberPrefixComparator.sort(sorted);
+        assertArrayEquals(expected, sorted);
+
+        String[] compared = names.clone();
+        Arrays.sort(compared, new NumberPrefixComparator());
+        assertArrayEquals(expected, compared);
+    }
+
+    @Test
+    public void consistentWithEquals() {
+        NumberPrefixComparator comparator = new NumberPrefixComparator();
+        assertEquals(0, comparator.compare("三、刑法", "三、刑法"));
+        assertTrue(comparator.compare("三、刑法", "3、刑法") != 0);
+        assertEquals(-comparator.compare("三、刑法", "3、刑法"), comparator.compare("3、刑法", "三、刑法"));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.catalog;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * TitleIndexTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 22:40
+ */
+public class TitleIndexTest {
+
+    private final TreeMap<String, Long> mFiles = new TreeMap<>();
+    private final CatalogIndex mCatalog;
+    private final TitleIndex mIndex;
+
+    public TitleIndexTest() throws IOException {
+        mFiles.put("Laws/1、宪法/中华人民共和国宪法.md", 1L);
+        mFiles.put("Laws/1、宪法/宪法修正案.md", 1L);
+        mFiles.put("Laws/2、民法/中华人民共和国民法典.md", 1L);
+        mFiles.put("Laws/2、民法/一、婚姻/婚姻登记条例.md", 1L);
+        mFiles.put("Laws/2、民法/二、合同/深层/ＡＢＣ 合同法解释.md", 1L);
+        mCatalog = CatalogIndex.of(CatalogManifest.scan(new CatalogManifest.Source() {
+            @Override
+            public String[] list(String path) {
+                List<String> names = new ArrayList<>();
+                String prefix = path + "/";
+                for (String file : mFiles.keySet()) {
+                    if (file.startsWith(prefix)) {
+                        String name = file.substring(prefix.length()).split("/")[0];
+                        if (!names.contains(name)) {
+                            names.add(name);
+                        }
+                    }
+                }
+                return names.toArray(new String[0]);
+            }
+
+            @Override
+            public long size(String path) {
+                Long size = mFiles.get(path);
+                return size != null ? size : -1;
+            }
+        }));
+        mIndex = TitleIndex.of(mCatalog);
+    }
+
+    private int law(String title) {
+        for (int law = 0; law < mCatalog.getLawCount(); law++) {
+            if (mCatalog.getLawTitle(law).equals(title)) {
+                return law;
+            }
+        }
+        throw new AssertionError(title);
+    }
+
+    @Test
+    public void findsSubstringAcrossCategories() {
+        assertArrayEquals(new int[]{law("中华人民共和国宪法"), law("中华人民共和国民法典")}, mIndex.find("人民共和国"));
+        assertArrayEquals(new int[]{law("宪法修正案"), law("中华人民共和国宪法")}, mIndex.find("宪法"));
+    }
+
+    @Test
+    public void prefixMatchesComeFirst() {
+        assertArrayEquals(new int[]{law("宪法修正案"), law("中华人民共和国宪法")}, mIndex.find("宪"));
+    }
+
+    @Test
+    public void normalizesWidthCaseAndSpaces() {
+        assertArrayEquals(new int[]{law("ＡＢＣ 合同法解释")}, mIndex.find("abc合同"));
+        assertArrayEquals(new int[]{law("ＡＢＣ 合同法解释")}, mIndex.find(" c 合 "));
+    }
+
+    @Test
+    public void doesNotMatchAcrossTitles() {
+        assertEquals(0, mIndex.find("宪法宪法").length);
+        assertEquals(0, mIndex.find("法典婚姻").length);
+        assertEquals(0, mIndex.find("  ").length);
+    }
+
+    @Test
+    public void groupsByTopCategory() {
+        assertEquals(0, mIndex.getTopCategory(law("宪法修正案")));
+        assertEquals(1, mIndex.getTopCategory(law("中华人民共和国民法典")));
+        assertEquals(1, mIndex.getTopCategory(law("婚姻登记条例")));
+        assertEquals(1, mIndex.getTopCategory(law("ＡＢＣ 合同法解释")));
+    }
+}
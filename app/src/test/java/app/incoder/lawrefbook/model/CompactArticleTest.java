@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import app.incoder.lawrefbook.parser.ArticleParser;
+
+/**
+ * CompactArticleTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 15:20
+ */
+public class CompactArticleTest {
+
+    private static final String MARKDOWN = "# 中华人民共和国刑法\n\n"
+            + "## 第一编 总则\n\n"
+            + "### 第一章 刑法的任务、基本原则和适用范围\n\n"
+            + "第一条 为了惩罚犯罪，保护人民，制定本法。\n\n"
+            + "第二条 中华人民共和国刑法的任务……\n"
+            + "（一）紧接的款项\n"
+            + "### 第二章 犯罪\n"
+            + "第十三条 一切危害国家主权的行为，都是犯罪。\n";
+
+    @Test
+    public void matchesArticle() throws IOException {
+        Article article = ArticleParser.parse(new BufferedReader(new StringReader(MARKDOWN)));
+        CompactArticle compact = CompactArticle.of(article);
+
+        List<Content> contents = article.getContents();
+        assertEquals(contents.size(), compact.size());
+        for (int i = 0; i < contents.size(); i++) {
+            assertEquals(contents.get(i).getType(), compact.getType(i));
+            assertEquals(contents.get(i).getRule(), compact.getRuleString(i));
+            assertEquals(contents.get(i).getRule(), compact.getRule(i).toString());
+        }
+        List<Toc> tocList = article.getToc();
+        assertEquals(tocList.size(), compact.getTocCount());
+        for (int i = 0; i < tocList.size(); i++) {
+            Toc toc = tocList.get(i);
+            assertEquals(toc.getId(), compact.getTocId(i));
+            assertEquals(toc.getParentId(), compact.getTocParentId(i));
+            assertEquals(toc.getPosition(), compact.getTocPosition(i));
+            assertEquals(toc.getTitleLevel(), compact.getTocLevel(i));
+            assertEquals(toc.getTitle(), compact.getTocTitle(i));
+        }
+        assertEquals(article.getInfo().getWordsCount(), compact.getWordsCount());
+    }
+
+    @Test
+    public void tocTitlesShareContentText() throws IOException {
+        Article article = ArticleParser.parse(new BufferedReader(new StringReader(MARKDOWN)));
+        CompactArticle compact = CompactArticle.of(article);
+        int contentChars = 0;
+        for (Content content : article.getContents()) {
+            contentChars += content.getRule().length();
+        }
+        // 目录标题都来自标题条目，不再额外占用缓冲
+        assertEquals(contentChars, compact.getText().length);
+    }
+
+    @Test
+    public void smallerThanObjectGraph() throws IOException {
+        Article article = ArticleParser.parse(new BufferedReader(new StringReader(MARKDOWN)));
+        CompactArticle compact = CompactArticle.of(article);
+        assertTrue(compact.estimateBytes() < 2 * compact.getText().length + 64 * compact.size());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import app.incoder.lawrefbook.model.Article;
+
+/**
+ * ArticleCodecTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 10:26
+ */
+public class ArticleCodecTest {
+
+    @Test
+    public void roundTrip() throws IOException {
+        String markdown = "# 中华人民共和国刑法\n\n"
+                + "## 第一编 总则\n\n"
+                + "### 第一章 刑法的任务、基本原则和适用范围\n\n"
+                + "第一条 为了惩罚犯罪，保护人民，根据宪法，结合我国同犯罪作斗争的具体经验及实际情况，制定本法。\n\n"
+                + "第二条 中华人民共和国刑法的任务……\n"
+                + "（一）紧接的款项\n";
+        Article article = ArticleParser.parse(new BufferedReader(new StringReader(markdown)));
+        Article decoded = decode(encode(article));
+        assertEquals(article, decoded);
+        // 标题在 content 与 toc 中共用同一个字符串
+        assertSame(decoded.getToc().get(1).getTitle(), decoded.getContents().get(1).getRule());
+    }
+
+    @Test
+    public void readRuleMatchesDecode() throws IOException {
+        String markdown = "## 第一章 总则\n\n"
+                + "第一条 为了惩罚犯罪，保护人民。\n\n"
+                + "## 第二章 分则\n\n"
+                + "第二条 紧接的条文。\n";
+        byte[] bytes = encode(ArticleParser.parse(new BufferedReader(new StringReader(markdown))));
+        Article decoded = decode(bytes);
+        for (int i = 0; i < decoded.getContents().size(); i++) {
+            assertEquals(decoded.getContents().get(i).getRule(), ArticleCodec.readRule(ByteBuffer.wrap(bytes), i));
+        }
+        assertNull(ArticleCodec.readRule(ByteBuffer.wrap(bytes), decoded.getContents().size()));
+        assertNull(ArticleCodec.readRule(ByteBuffer.wrap(bytes), -1));
+    }
+
+    @Test(expected = IOException.class)
+    public void readRuleRejectsTruncatedData() throws IOException {
+        byte[] bytes = encode(ArticleParser.parse(new BufferedReader(new StringReader("## 第一章\n第一条 内容"))));
+        ArticleCodec.readRule(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2)), 1);
+    }
+
+    @Test
+    public void compiledPath() {
+        assertEquals("compiled/Laws/刑法/刑法.md.bin", ArticleCodec.compiledPath("Laws/刑法/刑法.md"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignData() throws IOException {
+        decode(new byte[]{0, 1, 2, 3, 4, 5});
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedData() throws IOException {
+        byte[] bytes = encode(ArticleParser.parse(new BufferedReader(new StringReader("## 第一章\n第一条 内容"))));
+        decode(Arrays.copyOf(bytes, bytes.length - 3));
+    }
+
+    private static byte[] encode(Article article) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            ArticleCodec.write(article, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Article decode(byte[] bytes) throws IOException {
+        return ArticleCodec.read(ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import app.incoder.lawrefbook.model.CompactArticle;
+
+/**
+ * ArticleIndexTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 16:05
+ */
+public class ArticleIndexTest {
+
+    private static final String MARKDOWN = "# 中华人民共和国刑法\n\n"
+            + "## 第一章 刑法的任务\n\n"
+            + "第一条 为了惩罚犯罪，保护人民，制定本法。\n\n"
+            + "第二条 中华人民共和国刑法的任务……\n"
+            + "第一百二十条 组织、领导恐怖活动组织的……\n"
+            + "第一百二十条之一 资助恐怖活动组织的……\n"
+            + "第一百二十条之二 准备实施恐怖活动的……\n"
+            + "第一千零三十二条 测试条号。\n"
+            + "附：第一条 不是条目开头，不应被索引。\n";
+
+    private CompactArticle article() throws IOException {
+        return CompactArticle.of(ArticleParser.parse(new BufferedReader(new StringReader(MARKDOWN))));
+    }
+
+    @Test
+    public void findsArticles() throws IOException {
+        CompactArticle article = article();
+        ArticleIndex index = ArticleIndex.of(article);
+        assertEquals(6, index.size());
+        assertStartsWith(article, index.find(1, 0), "第一条");
+        assertStartsWith(article, index.find(2, 0), "第二条");
+        assertStartsWith(article, index.find(120, 0), "第一百二十条 ");
+        assertStartsWith(article, index.find(120, 1), "第一百二十条之一");
+        assertStartsWith(article, index.find(120, 2), "第一百二十条之二");
+        assertStartsWith(article, index.find(1032, 0), "第一千零三十二条");
+        assertEquals(ArticleIndex.NOT_FOUND, index.find(3, 0));
+        assertEquals(ArticleIndex.NOT_FOUND, index.find(120, 3));
+        assertEquals(ArticleIndex.NOT_FOUND, index.find(99999, 0));
+    }
+
+    @Test
+    public void findsQueries() throws IOException {
+        CompactArticle article = article();
+        ArticleIndex index = ArticleIndex.of(article);
+        int position = index.find(1032, 0);
+        assertEquals(position, index.find("第一千零三十二条"));
+        assertEquals(position, index.find("一千零三十二"));
+        assertEquals(position, index.find(" 1032 "));
+        assertEquals(position, index.find("第1032条"));
+        int sub = index.find(120, 1);
+        assertEquals(sub, index.find("第一百二十条之一"));
+        assertEquals(sub, index.find("120之1"));
+        assertEquals(ArticleIndex.NOT_FOUND, index.find(""));
+        assertEquals(ArticleIndex.NOT_FOUND, index.find("第条"));
+        assertEquals(ArticleIndex.NOT_FOUND, index.find("刑法"));
+        assertEquals(ArticleIndex.NOT_FOUND, index.find("第一条款"));
+    }
+
+    @Test
+    public void emptyArticle() {
+        ArticleIndex index = ArticleIndex.of(CompactArticle.empty());
+        assertEquals(0, index.size());
+        assertEquals(ArticleIndex.NOT_FOUND, index.find(1, 0));
+        assertEquals(ArticleIndex.NOT_FOUND, ArticleIndex.empty().find("1"));
+    }
+
+    private static void assertStartsWith(CompactArticle article, int position, String prefix) {
+        assertEquals(prefix, article.getRuleString(position).substring(0, prefix.length()));
+    }
+}
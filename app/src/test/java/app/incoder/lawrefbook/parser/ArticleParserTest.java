@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.Extended;
+import app.incoder.lawrefbook.model.Toc;
+import app.incoder.lawrefbook.model.Type;
+
+/**
+ * ArticleParser 与原正则实现的等价性测试
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 09:12
+ */
+public class ArticleParserTest {
+
+    /**
+     * Laws 子模块，未初始化子模块时只校验内置样例
+     */
+    private static final File CORPUS = new File("src/main/assets/Laws");
+
+    private static final String SAMPLE = "# 中华人民共和国民法典\n"
+            + "\n"
+            + "2020年5月28日第十三届全国人民代表大会第三次会议通过\n"
+            + "<!-- INFO END -->\n"
+            + "\n"
+            + "## 第一编 总则\n"
+            + "\n"
+            + "### 第一章 基本规定\n"
+            + "\n"
+            + "第一条 为了保护民事主体的合法权益，调整民事关系，制定本法。\n"
+            + "\n"
+            + "第二条 民法调整平等主体的自然人、法人和非法人组织之间的人身关系和财产关系。\n"
+            + "（一）紧接上一行的款项\n"
+            + "（二）同样紧接\n"
+            + "\n"
+            + "### 第二章 自然人\n"
+            + "#### 第一节 民事权利能力和民事行为能力\n"
+            + "\n"
+            + "第十三条 自然人从出生时起到死亡时止，具有民事权利能力。\n"
+            + "第十三条之一 紧接的之一条\n"
+            + "##\n"
+            + "## 附则\n"
+            + "##无空格的井号\n"
+            + "##  两个空格的标题\n"
+            + "## 标题#中间#有井号##\n"
+            + "第条 空序号\n"
+            + "   第一千二百六十条 本法自2021年1月1日起施行。   \n";
+
+    @Test
+    public void sampleMatchesLegacy() throws IOException {
+        assertEquivalent("sample", SAMPLE);
+        assertEquivalent("empty", "");
+        assertEquivalent("text only", "前言\n正文");
+        assertEquivalent("ends with heading", "第一条 内容\n## 第二章");
+        assertEquivalent("crlf", "## 第一章\r\n第一条 内容\r\n\r\n第二条 内容\r\n");
+        assertEquivalent("cr", "## 第一章\r第一条 内容\r\r第二条 内容");
+        assertEquivalent("supplementary", "第一条 𠀀𡃁 内容\n");
+    }
+
+    @Test
+    public void sampleStructure() throws IOException {
+        Article article = ArticleParser.parse(new BufferedReader(new StringReader(SAMPLE)));
+        List<Content> contents = article.getContents();
+        // 紧接的行不再被预读吞掉
+        assertTrue(contents.stream().anyMatch(t -> t.getRule().endsWith("（二）同样紧接")));
+        // 文件末尾的法条会被收尾
+        assertEquals("第一千二百六十条 本法自2021年1月1日起施行。", contents.get(contents.size() - 1).getRule());
+        assertEquals(" 两个空格的标题", article.getToc().get(6).getTitle());
+    }
+
+    @Test
+    public void progressBatchesArePrefixes() {
+        StringBuilder markdown = new StringBuilder("## 第一章\n");
+        for (int i = 0; i < 500; i++) {
+            markdown.append("第一条 内容").append(i).append("\n");
+        }
+        List<Content> published = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        Article article = ArticleParser.parse(ByteBuffer.wrap(markdown.toString().getBytes(StandardCharsets.UTF_8)), batch -> {
+            published.addAll(batch);
+            batchSizes.add(batch.size());
+        });
+        // 首批约一屏，之后翻倍，最后未满一批的部分由完整结果给出
+        assertEquals(Integer.valueOf(32), batchSizes.get(0));
+        assertTrue(batchSizes.size() < 6);
+        assertEquals(article.getContents().subList(0, published.size()), published);
+    }
+
+    @Test
+    public void corpusMatchesLegacy() throws IOException {
+        if (!CORPUS.isDirectory()) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(CORPUS.toPath())) {
+            files = walk.filter(t -> t.toString().endsWith(".md")).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            assertEquivalent(file.toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void assertEquivalent(String name, String markdown) throws IOException {
+        Article expected = legacy(new BufferedReader(new StringReader(markdown)));
+        Article actual = ArticleParser.parse(new BufferedReader(new StringReader(markdown)));
+        assertEquals(name, expected, actual);
+        Article mapped = ArticleParser.parse(ByteBuffer.wrap(markdown.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(name, expected, mapped);
+    }
+
+    /**
+     * 原 LawRefBookRepository.getArticle 的正则实现，仅去掉了吞行的 {@code bf.readLine()} 预读，
+     * 改为读完后收尾最后一条
+     */
+    private static Article legacy(BufferedReader bf) throws IOException {
+        Article article = new Article();
+        Extended extended = new Extended();
+        List<Toc> tocList = new ArrayList<>();
+        List<Content> articleContent = new ArrayList<>();
+        int count = 0;
+        String line;
+        int tocIndex = 0;
+        int tocId = 0;
+        Map<Integer, Integer> indexMap = new HashMap<>(8);
+        Integer compareLevelParentId = -1;
+        StringBuilder sb = new StringBuilder();
+        while ((line = bf.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            Content content = new Content();
+            if (line.matches("^#+")) {
+                continue;
+            }
+            if (line.matches("^#+ .*")) {
+                tocIndex++;
+                tocId++;
+                String headline = line.replaceAll("^#+ ", "");
+                int level = line.split("#").length;
+                Toc toc = new Toc();
+                toc.setId(tocId);
+                int realLevel = level - 2;
+                Integer currentLevelParentId = indexMap.get(realLevel);
+                if (!compareLevelParentId.equals(currentLevelParentId)) {
+                    if (realLevel == 1) {
+                        indexMap.clear();
+                    }
+                    if (currentLevelParentId == null || compareLevelParentId < currentLevelParentId) {
+                        indexMap.put(realLevel, tocId - 1);
+                        compareLevelParentId = tocId - 1;
+                    } else {
+                        indexMap.put(realLevel, currentLevelParentId);
+                        compareLevelParentId = currentLevelParentId;
+                    }
+                }
+                Integer realLevelParentId = indexMap.get(realLevel);
+                toc.setParentId(realLevelParentId != null ? realLevelParentId : -1);
+                toc.setPosition(tocIndex);
+                toc.setTitle(headline);
+                toc.setTitleLevel(realLevel);
+                tocList.add(toc);
+                if (headline.matches("^(第[一二三四五六七八九十零百千万]).*?") && realLevel == 1) {
+                    content.setType(Type.SECTION_TYPE.getCode());
+                } else if (realLevel > 1) {
+                    content.setType(Type.NODE_TYPE.getCode());
+                }
+                content.setRule(headline);
+                articleContent.add(content);
+            } else {
+                if (line.matches("(第[一二三四五六七八九十零百千万]*条)( *)([\\s\\S]*)")) {
+                    content.setType(Type.CONTENT_TYPE.getCode());
+                    if (sb.length() > 0) {
+                        content.setRule(sb.toString());
+                        tocIndex++;
+                        articleContent.add(content);
+                        sb.delete(0, sb.length());
+                    }
+                    sb.append(line);
+                } else {
+                    sb.append("\n").append(line);
+                }
+            }
+            count = count + line.length();
+        }
+        if (sb.length() > 0) {
+            Content lastContent = new Content();
+            lastContent.setType(Type.CONTENT_TYPE.getCode());
+            lastContent.setRule(sb.toString());
+            articleContent.add(lastContent);
+        }
+        extended.setWordsCount(count + "");
+        extended.setCorrectHistory(new ArrayList<>());
+        article.setContents(articleContent);
+        article.setToc(tocList);
+        article.setInfo(extended);
+        return article;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * ChineseNumeralsTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 16:05
+ */
+public class ChineseNumeralsTest {
+
+    @Test
+    public void positional() {
+        assertEquals(1, ChineseNumerals.parse("一"));
+        assertEquals(10, ChineseNumerals.parse("十"));
+        assertEquals(13, ChineseNumerals.parse("十三"));
+        assertEquals(20, ChineseNumerals.parse("二十"));
+        assertEquals(101, ChineseNumerals.parse("一百零一"));
+        assertEquals(110, ChineseNumerals.parse("一百一十"));
+        assertEquals(110, ChineseNumerals.parse("一百十"));
+        assertEquals(1032, ChineseNumerals.parse("一千零三十二"));
+        assertEquals(1200, ChineseNumerals.parse("一千二百"));
+        assertEquals(2005, ChineseNumerals.parse("两千零五"));
+        assertEquals(10100, ChineseNumerals.parse("一万零一百"));
+        assertEquals(200005, ChineseNumerals.parse("二十万零五"));
+    }
+
+    @Test
+    public void digits() {
+        assertEquals(1032, ChineseNumerals.parse("1032"));
+        assertEquals(1032, ChineseNumerals.parse("一〇三二"));
+        assertEquals(0, ChineseNumerals.parse("零"));
+    }
+
+    @Test
+    public void invalid() {
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse(""));
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse("第一"));
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse("三三百"));
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse("三十五百"));
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse("百"));
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse("万"));
+        assertEquals(ChineseNumerals.INVALID, ChineseNumerals.parse("9999999999"));
+    }
+
+    @Test
+    public void range() {
+        assertEquals(1, ChineseNumerals.parse("第一条", 1, 2));
+    }
+}
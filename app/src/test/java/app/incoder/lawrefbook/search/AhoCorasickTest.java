@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * AhoCorasickTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:40
+ */
+public class AhoCorasickTest {
+
+    private static List<String> scan(AhoCorasick matcher, String text) {
+        List<String> matches = new ArrayList<>();
+        matcher.scan(text.toCharArray(), 0, text.length(),
+                (start, length) -> matches.add(start + ":" + text.substring(start, start + length)));
+        return matches;
+    }
+
+    @Test
+    public void reportsOverlappingMatches() {
+        AhoCorasick matcher = AhoCorasick.of(Arrays.asList("违约", "违约金", "约金", "金"));
+        assertEquals(4, matcher.getPatternCount());
+        assertEquals(Arrays.asList("0:违约", "0:违约金", "1:约金", "2:金"), scan(matcher, "违约金"));
+    }
+
+    @Test
+    public void followsFailLinks() {
+        AhoCorasick matcher = AhoCorasick.of(Arrays.asList("he", "she", "his", "hers"));
+        assertEquals(Arrays.asList("1:she", "2:he", "2:hers"), scan(matcher, "ushers"));
+    }
+
+    @Test
+    public void ignoresEmptyAndDuplicatePatterns() {
+        AhoCorasick matcher = AhoCorasick.of(Arrays.asList("", "合同", "合同"));
+        assertEquals(1, matcher.getPatternCount());
+        assertEquals(Collections.singletonList("2:合同"), scan(matcher, "劳动合同"));
+        assertEquals(Collections.emptyList(), scan(AhoCorasick.of(Collections.emptyList()), "劳动合同"));
+    }
+
+    @Test
+    public void latinCaseInsensitive() {
+        AhoCorasick matcher = AhoCorasick.of(Collections.singletonList("Pdf"));
+        assertEquals(Collections.singletonList("2:PDF"), scan(matcher, "导出PDF"));
+    }
+
+    @Test
+    public void matchesNaiveSearch() {
+        Random random = new Random(7);
+        String alphabet = "法律条款";
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int p = 0; p < 1 + random.nextInt(5); p++) {
+                patterns.add(randomString(random, alphabet, 1 + random.nextInt(4)));
+            }
+            String text = randomString(random, alphabet, random.nextInt(60));
+            List<String> expected = new ArrayList<>();
+            for (int end = 1; end <= text.length(); end++) {
+                // 同一位置结束的先长后短
+                for (int start = 0; start < end; start++) {
+                    String sub = text.substring(start, end);
+                    if (patterns.contains(sub)) {
+                        expected.add(start + ":" + sub);
+                    }
+                }
+            }
+            assertEquals(patterns + " " + text, expected, scan(AhoCorasick.of(patterns), text));
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
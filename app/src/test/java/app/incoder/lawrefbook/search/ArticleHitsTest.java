@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import app.incoder.lawrefbook.model.CompactArticle;
+import app.incoder.lawrefbook.parser.ArticleParser;
+
+/**
+ * ArticleHitsTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:40
+ */
+public class ArticleHitsTest {
+
+    private static final String MARKDOWN = "# 中华人民共和国民法典\n\n"
+            + "## 第八章 违约责任\n\n"
+            + "第五百七十七条 当事人一方不履行合同义务的，应当承担违约责任。\n\n"
+            + "第五百八十五条 当事人可以约定违约金。约定的违约金低于造成的损失的，可以请求增加。\n\n"
+            + "第五百八十八条 既约定违约金，又约定定金的，一方违约时，对方可以选择适用违约金或者定金条款。\n";
+
+    private final CompactArticle mArticle;
+
+    public ArticleHitsTest() throws IOException {
+        mArticle = CompactArticle.of(ArticleParser.parse(new BufferedReader(new StringReader(MARKDOWN))));
+    }
+
+    @Test
+    public void splitsTerms() {
+        assertEquals(Arrays.asList("违约", "定金"), ArticleHits.terms("  违约 定金\t违约 "));
+        assertEquals(0, ArticleHits.terms(" ").size());
+    }
+
+    @Test
+    public void hitsSortedByPositionAndStart() {
+        ArticleHits hits = ArticleHits.find(mArticle, "违约金 定金");
+        assertEquals(mArticle.size(), hits.getArticleSize());
+        int last = -1;
+        for (int hit = 0; hit < hits.size(); hit++) {
+            int key = hits.getPosition(hit) * 1000 + hits.getStart(hit);
+            assertTrue(key > last);
+            last = key;
+            String text = mArticle.getRuleString(hits.getPosition(hit));
+            String matched = text.substring(hits.getStart(hit), hits.getStart(hit) + hits.getLength(hit));
+            assertTrue(matched.equals("违约金") || matched.equals("定金"));
+        }
+        // 第五百八十五条两处违约金，第五百八十八条两处违约金、两处定金
+        assertEquals(6, hits.size());
+    }
+
+    @Test
+    public void overlappingTermsKeepLongest() {
+        ArticleHits hits = ArticleHits.find(mArticle, "违约 违约金 约金");
+        int clause = hits.getPosition(hits.size() - 1);
+        String text = mArticle.getRuleString(clause);
+        List<String> matched = new ArrayList<>();
+        for (int hit = hits.getHitStart(clause); hit < hits.getHitEnd(clause); hit++) {
+            matched.add(text.substring(hits.getStart(hit), hits.getStart(hit) + hits.getLength(hit)));
+        }
+        assertEquals(Arrays.asList("违约金", "违约", "违约金"), matched);
+    }
+
+    @Test
+    public void nearestHitWraps() {
+        ArticleHits hits = ArticleHits.find(mArticle, "当事人");
+        assertEquals(2, hits.size());
+        assertEquals(0, hits.nearestHit(0));
+        assertEquals(1, hits.nearestHit(hits.getPosition(0) + 1));
+        assertEquals(0, hits.nearestHit(mArticle.size()));
+        assertEquals(1, hits.getHitEnd(hits.getPosition(0)) - hits.getHitStart(hits.getPosition(0)));
+        assertEquals(ArticleHits.NOT_FOUND, ArticleHits.find(mArticle, "刑罚").nearestHit(0));
+        assertEquals(0, ArticleHits.find(mArticle, "  ").size());
+    }
+}
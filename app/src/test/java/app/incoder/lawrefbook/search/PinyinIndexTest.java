@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * PinyinIndexTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:10
+ */
+public class PinyinIndexTest {
+
+    private static final String TABLE = "de 的\n"
+            + "dian 典\n"
+            + "fa 法\n"
+            + "ge 个\n"
+            + "guo 国\n"
+            + "he 和\n"
+            + "hua 华\n"
+            + "ren 人\n"
+            + "min 民\n"
+            + "shi 事\n"
+            + "su 诉\n"
+            + "song 讼\n"
+            + "xing 刑\n"
+            + "zhong 中\n"
+            + "zui 罪\n"
+            + "gong 共\n"
+            + "zhang 章\n"
+            + "yi 一\n"
+            + "er 二\n"
+            + "di 第\n";
+
+    private final PinyinTable mTable;
+    private final PinyinIndex mIndex;
+
+    public PinyinIndexTest() throws IOException {
+        mTable = PinyinTable.read(new StringReader(TABLE));
+        PinyinIndex.Builder builder = new PinyinIndex.Builder(mTable);
+        int civil = builder.addDocument("Laws/民法典/民法典.md", "中华人民共和国民法典");
+        builder.addHeadline(civil, 4, "第一章 总则");
+        int criminal = builder.addDocument("Laws/刑法/刑法.md", "中华人民共和国刑法");
+        builder.addHeadline(criminal, 7, "第二章 犯罪");
+        builder.addHeadline(criminal, 9, "第一章 刑法的任务");
+        builder.addDocument("Laws/刑事诉讼法/刑事诉讼法.md", "中华人民共和国刑事诉讼法");
+        builder.addDocument("Laws/民事诉讼法/民事诉讼法.md", "民事诉讼法");
+        mIndex = read(builder);
+    }
+
+    private static PinyinIndex read(PinyinIndex.Builder builder) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        builder.write(new DataOutputStream(bytes));
+        return PinyinIndex.read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @Test
+    public void findsByFullPinyin() {
+        List<PinyinIndex.Hit> hits = mIndex.find("xingfa", 10);
+        assertEquals(2, hits.size());
+        assertEquals("中华人民共和国刑法", hits.get(0).getTitle());
+        assertTrue(hits.get(0).isTitle());
+        assertEquals(7, hits.get(0).getStart());
+        assertEquals(2, hits.get(0).getLength());
+        assertFalse(hits.get(0).isPrefix());
+        // 目录 "刑法的任务" 排在标题之后
+        assertEquals(9, hits.get(1).getPosition());
+        assertEquals("第一章 刑法的任务", hits.get(1).getText());
+        assertTrue(hits.get(1).isPrefix());
+    }
+
+    @Test
+    public void findsByInitials() {
+        List<PinyinIndex.Hit> hits = mIndex.find("MFD", 10);
+        assertEquals(1, hits.size());
+        assertEquals("Laws/民法典/民法典.md", hits.get(0).getPath());
+        assertEquals(3, hits.get(0).getLength());
+    }
+
+    @Test
+    public void prefixAndShorterFirst() {
+        List<PinyinIndex.Hit> hits = mIndex.find("min shi", 10);
+        assertEquals(1, hits.size());
+        assertEquals("民事诉讼法", hits.get(0).getTitle());
+        hits = mIndex.find("xingshisus", 10);
+        assertEquals("中华人民共和国刑事诉讼法", hits.get(0).getTitle());
+        // 最后一个音节只输入了一部分
+        assertEquals(4, hits.get(0).getLength());
+        hits = mIndex.find("zhrmghg", 10);
+        assertEquals(3, hits.size());
+        assertEquals("中华人民共和国刑法", hits.get(0).getTitle());
+        assertEquals("中华人民共和国民法典", hits.get(1).getTitle());
+    }
+
+    @Test
+    public void skipsOrdinalsAndCommonHeadlines() {
+        // "第一章" 不参与匹配，"总则" 不足三个字不收录
+        assertTrue(mIndex.find("dyz", 10).isEmpty());
+        assertTrue(mIndex.find("zui", 10).isEmpty());
+        assertEquals(9, mIndex.find("xfd", 10).get(0).getPosition());
+    }
+
+    @Test
+    public void rejectsNonPinyinQueries() {
+        assertTrue(mIndex.find("刑法", 10).isEmpty());
+        assertTrue(mIndex.find("xing2", 10).isEmpty());
+        assertNull(PinyinIndex.normalizeQuery(" ' "));
+        assertEquals("lvshi", PinyinIndex.normalizeQuery("lü'shi"));
+        assertEquals(0, PinyinIndex.headlineStart("总则"));
+        assertEquals(4, PinyinIndex.headlineStart("第一章 总则"));
+    }
+
+    /**
+     * 键数远超展开阈值时与逐个比较的结果一致
+     */
+    @Test
+    public void matchesBruteForce() throws IOException {
+        String chars = "民法典刑事诉讼中华人共和国罪";
+        Random random = new Random(42);
+        PinyinIndex.Builder builder = new PinyinIndex.Builder(mTable);
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder title = new StringBuilder();
+            int length = 2 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                title.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            titles.add(title.toString());
+            builder.addDocument("Laws/" + i + ".md", title.toString());
+        }
+        PinyinIndex index = read(builder);
+        String[] queries = {"m", "xs", "xingshi", "zhonghuar", "fa", "zuif", "hrmg", "zzzz"};
+        for (String query : queries) {
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < titles.size(); i++) {
+                if (contains(titles.get(i), query)) {
+                    expected.add(i);
+                }
+            }
+            TreeSet<Integer> actual = new TreeSet<>();
+            for (PinyinIndex.Hit hit : index.find(query, titles.size())) {
+                actual.add(hit.getDocument());
+            }
+            assertEquals(query, expected, actual);
+        }
+    }
+
+    private boolean contains(String title, String query) {
+        int[] syllables = mTable.annotate(title);
+        for (int start = 0; start < syllables.length; start++) {
+            StringBuilder full = new StringBuilder();
+            StringBuilder initials = new StringBuilder();
+            for (int i = start; i < syllables.length; i++) {
+                full.append(mTable.getSyllable(syllables[i]));
+                initials.append(mTable.getSyllable(syllables[i]).charAt(0));
+            }
+            if (full.toString().startsWith(query) || initials.toString().startsWith(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
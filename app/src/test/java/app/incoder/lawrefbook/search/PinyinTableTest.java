@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * PinyinTableTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:10
+ */
+public class PinyinTableTest {
+
+    static final String TABLE = "# 测试用拼音表\n"
+            + "dian 典\n"
+            + "fa 法\n"
+            + "hang 杭\n"
+            + "min 民\n"
+            + "xing 刑行形\n"
+            + "yin 银\n"
+            + "zheng 政正\n"
+            + "\n"
+            + "银行 yin hang\n";
+
+    private final PinyinTable mTable;
+
+    public PinyinTableTest() throws IOException {
+        mTable = PinyinTable.read(new StringReader(TABLE));
+    }
+
+    @Test
+    public void syllablesSorted() {
+        assertEquals(7, mTable.getSyllableCount());
+        assertEquals("dian", mTable.getSyllable(0));
+        assertEquals("zheng", mTable.getSyllable(6));
+        assertEquals(mTable.get('刑'), mTable.get('行'));
+        assertEquals(PinyinTable.NONE, mTable.get('，'));
+    }
+
+    @Test
+    public void phraseOverridesDefault() {
+        int yin = mTable.get('银');
+        // 音节按字母序编号：dian fa hang …
+        int hang = 2;
+        int xing = mTable.get('刑');
+        assertEquals("hang", mTable.getSyllable(hang));
+        assertArrayEquals(new int[]{yin, hang, PinyinTable.NONE, xing, mTable.get('政')},
+                mTable.annotate("银行（行政"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsDuplicateCharacter() throws IOException {
+        PinyinTable.read(new StringReader("fa 法\nfa 发法\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsUnknownPhraseSyllable() throws IOException {
+        PinyinTable.read(new StringReader("fa 法\n法法 fa fan\n"));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SearchEngineTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public class SearchEngineTest {
+
+    private final SearchEngine mEngine;
+
+    public SearchEngineTest() throws IOException {
+        SearchIndex.Builder builder = new SearchIndex.Builder();
+        int civil = builder.addDocument("Laws/民法典/民法典.md", "民法典");
+        builder.addUnit(civil, 3, "第一条 为了保护民事主体的合法权益，调整民事关系，制定本法。");
+        builder.addUnit(civil, 5, "第五百七十七条 当事人一方不履行合同义务的，应当承担违约责任。");
+        builder.addUnit(civil, 6, "第五百八十五条 当事人可以约定违约金。约定的违约金低于造成的损失的，可以请求增加。违约金过高的，可以请求减少。");
+        int labor = builder.addDocument("Laws/劳动法/劳动合同法.md", "劳动合同法");
+        builder.addUnit(labor, 2, "第二十五条 除本法规定的情形外，用人单位不得与劳动者约定由劳动者承担违约金。");
+        builder.addUnit(labor, 4, "第十条 建立劳动关系，应当订立书面劳动合同。");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        builder.write(new DataOutputStream(bytes));
+        mEngine = new SearchEngine(SearchIndex.read(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+    @Test
+    public void readsDocumentsAndUnits() {
+        SearchIndex index = mEngine.getIndex();
+        assertEquals(2, index.getDocumentCount());
+        assertEquals(5, index.getUnitCount());
+        assertEquals("Laws/劳动法/劳动合同法.md", index.getDocumentPath(1));
+        assertEquals(1, index.getUnitDocument(4));
+        assertEquals(4, index.getUnitPosition(4));
+    }
+
+    @Test
+    public void ranksByTermFrequency() throws IOException {
+        SearchEngine.Result result = mEngine.search("违约金", 10);
+        assertEquals(2, result.getTotal());
+        List<SearchEngine.Hit> hits = result.getHits();
+        assertEquals("民法典", hits.get(0).getTitle());
+        assertEquals(6, hits.get(0).getPosition());
+        assertEquals("劳动合同法", hits.get(1).getTitle());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    public void requiresAllTerms() throws IOException {
+        assertEquals(1, mEngine.search("违约责任", 10).getTotal());
+        assertEquals(0, mEngine.search("违约 刑罚", 10).getTotal());
+        assertEquals(0, mEngine.search("，", 10).getTotal());
+    }
+
+    @Test
+    public void limitKeepsBestHits() throws IOException {
+        SearchEngine.Result all = mEngine.search("当事人", 10);
+        SearchEngine.Result one = mEngine.search("当事人", 1);
+        assertEquals(2, one.getTotal());
+        assertEquals(1, one.getHits().size());
+        assertEquals(all.getHits().get(0).getUnit(), one.getHits().get(0).getUnit());
+    }
+
+    @Test
+    public void singleCharacterMatchesAnyPosition() throws IOException {
+        // "法" 出现在二元组首字、次字以及段尾
+        SearchEngine.Result result = mEngine.search("法", 10);
+        assertEquals(2, result.getTotal());
+        assertEquals(1, mEngine.search("书", 10).getTotal());
+    }
+
+    @Test
+    public void advanceGallops() {
+        int[] units = {1, 3, 5, 7, 9, 11, 13, 15, 17};
+        assertEquals(0, SearchEngine.advance(units, 0, 0));
+        assertEquals(2, SearchEngine.advance(units, 0, 5));
+        assertEquals(3, SearchEngine.advance(units, 1, 6));
+        assertEquals(8, SearchEngine.advance(units, 2, 17));
+        assertEquals(9, SearchEngine.advance(units, 2, 18));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedIndex() throws IOException {
+        SearchIndex.Builder builder = new SearchIndex.Builder();
+        builder.addUnit(builder.addDocument("Laws/a.md", "a"), 0, "合同");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        builder.write(new DataOutputStream(bytes));
+        byte[] data = bytes.toByteArray();
+        SearchIndex.read(ByteBuffer.wrap(Arrays.copyOf(data, data.length - 3)));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * SearchTokenizerTest
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public class SearchTokenizerTest {
+
+    private static String[] strings(int[] terms) {
+        String[] strings = new String[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            strings[i] = SearchTokenizer.toString(terms[i]);
+        }
+        return strings;
+    }
+
+    @Test
+    public void indexTermsAreOverlappingBigramsWithTrailingUnigram() {
+        String text = "第一条 合同法，ＡＢ";
+        assertArrayEquals(new String[]{"第一", "一条", "条", "合同", "同法", "法", "ab", "b"},
+                strings(SearchTokenizer.indexTerms(text, 0, text.length())));
+    }
+
+    @Test
+    public void indexTermsRespectRange() {
+        String text = "xx刑法yy";
+        assertArrayEquals(new String[]{"刑法", "法"}, strings(SearchTokenizer.indexTerms(text, 2, 4)));
+    }
+
+    @Test
+    public void queryTermsAreDistinctBigrams() {
+        assertArrayEquals(new String[]{"约金", "违约"}, sorted("违约金"));
+        assertArrayEquals(new String[]{"合同"}, sorted("合同 合同"));
+    }
+
+    @Test
+    public void singleCharacterQueryIsPrefix() {
+        int[] terms = SearchTokenizer.queryTerms("法");
+        assertEquals(1, terms.length);
+        assertTrue(SearchTokenizer.prefix(terms[0]));
+        assertFalse(SearchTokenizer.prefix(SearchTokenizer.queryTerms("刑法")[0]));
+        assertEquals(0, SearchTokenizer.queryTerms("，。 ").length);
+    }
+
+    private static String[] sorted(String query) {
+        String[] strings = strings(SearchTokenizer.queryTerms(query));
+        Arrays.sort(strings);
+        return strings;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.inject.Inject;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.parser.ArticleCodec;
+import app.incoder.lawrefbook.parser.ArticleParser;
+
+/**
+ * CompileArticlesTask
+ * <p>
+ * 构建期遍历 assets/Laws 下的 Markdown，用 {@link ArticleParser} 解析后按 {@link ArticleCodec} 写出，
+ * 输出目录作为生成的 assets 并入 APK
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 10:26
+ */
+public abstract class CompileArticlesTask extends DefaultTask {
+
+    /**
+     * assets 下的 Laws 目录
+     */
+    @Internal
+    public abstract DirectoryProperty getLawsDir();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileTree getSources() {
+        return getLawsDir().getAsFileTree().matching(t -> t.include("**/*.md"));
+    }
+
+    @TaskAction
+    public void compile() {
+        File outputDir = getOutputDir().get().getAsFile();
+        getFileSystemOperations().delete(t -> t.delete(outputDir));
+        String root = getLawsDir().get().getAsFile().getName();
+        getSources().visit(details -> {
+            if (details.isDirectory()) {
+                return;
+            }
+            String path = root + "/" + details.getRelativePath().getPathString();
+            File target = new File(outputDir, ArticleCodec.compiledPath(path));
+            try {
+                compile(details.getFile(), target);
+            } catch (IOException e) {
+                throw new GradleException("Failed to compile " + path, e);
+            }
+        });
+    }
+
+    private static void compile(File source, File target) throws IOException {
+        Article article;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(source.toPath()), StandardCharsets.UTF_8))) {
+            article = ArticleParser.parse(reader);
+        }
+        Files.createDirectories(target.getParentFile().toPath());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target.toPath())))) {
+            ArticleCodec.write(article, out);
+        }
+    }
+}
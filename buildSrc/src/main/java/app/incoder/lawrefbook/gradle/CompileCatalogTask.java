@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package app.incoder.lawrefbook.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.inject.Inject;
+
+import app.incoder.lawrefbook.catalog.CatalogManifest;
+
+/**
+ * CompileCatalogTask
+ * <p>
+ * 构建期遍历一次 assets/Laws，写出 {@link CatalogManifest}，运行期的分类与法规列表都从清单读取
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 17:30
+ */
+public abstract class CompileCatalogTask extends DefaultTask {
+
+    /**
+     * assets 下的 Laws 目录
+     */
+    @Internal
+    public abstract DirectoryProperty getLawsDir();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    /**
+     * 清单只记录目录结构、文件名与大小，任一文件增删改都重新生成
+     */
+    @InputFiles
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileTree getSources() {
+        return getLawsDir().getAsFileTree();
+    }
+
+    @TaskAction
+    public void compile() {
+        File outputDir = getOutputDir().get().getAsFile();
+        getFileSystemOperations().delete(t -> t.delete(outputDir));
+        // Source 的路径以 Laws 开头，相对于 assets 目录
+        File assetsDir = getLawsDir().get().getAsFile().getParentFile();
+        File target = new File(outputDir, CatalogManifest.ASSET_PATH);
+        try {
+            CatalogManifest manifest = CatalogManifest.scan(new CatalogManifest.Source() {
+                @Override
+                public String[] list(String path) {
+                    String[] names = new File(assetsDir, path).list();
+                    return names != null ? names : new String[0];
+                }
+
+                @Override
+                public long size(String path) {
+                    return new File(assetsDir, path).length();
+                }
+            });
+            Files.createDirectories(target.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target.toPath())))) {
+                manifest.write(out);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to write " + CatalogManifest.ASSET_PATH, e);
+        }
+    }
+}
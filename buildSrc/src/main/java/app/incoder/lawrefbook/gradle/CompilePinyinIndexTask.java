@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+
+import javax.inject.Inject;
+
+import app.incoder.lawrefbook.catalog.CatalogIndex;
+import app.incoder.lawrefbook.catalog.CatalogManifest;
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.Type;
+import app.incoder.lawrefbook.parser.ArticleParser;
+import app.incoder.lawrefbook.search.PinyinIndex;
+import app.incoder.lawrefbook.search.PinyinTable;
+
+/**
+ * CompilePinyinIndexTask
+ * <p>
+ * 构建期按 {@link CatalogIndex} 的顺序把全部法规标题，以及 Markdown 中的编、章、节目录写入 {@link PinyinIndex}，
+ * 读音取自 buildSrc 资源中的 {@link #TABLE}。法规与运行期列表一致，同样的输入总是得到同样的输出
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 23:10
+ */
+public abstract class CompilePinyinIndexTask extends DefaultTask {
+
+    /**
+     * 汉字拼音表
+     */
+    public static final String TABLE = "/pinyin/pinyin.txt";
+
+    /**
+     * assets 下的 Laws 目录
+     */
+    @Internal
+    public abstract DirectoryProperty getLawsDir();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    /**
+     * 标题来自全部文件名，目录来自 Markdown 正文，任一文件增删改都重新生成
+     */
+    @InputFiles
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileTree getSources() {
+        return getLawsDir().getAsFileTree();
+    }
+
+    @TaskAction
+    public void compile() {
+        File outputDir = getOutputDir().get().getAsFile();
+        getFileSystemOperations().delete(t -> t.delete(outputDir));
+        // Source 的路径以 Laws 开头，相对于 assets 目录
+        File assetsDir = getLawsDir().get().getAsFile().getParentFile();
+        PinyinTable table;
+        CatalogIndex catalog;
+        try {
+            table = readTable();
+            catalog = CatalogIndex.of(CatalogManifest.scan(new CatalogManifest.Source() {
+                @Override
+                public String[] list(String path) {
+                    String[] names = new File(assetsDir, path).list();
+                    return names != null ? names : new String[0];
+                }
+
+                @Override
+                public long size(String path) {
+                    return new File(assetsDir, path).length();
+                }
+            }));
+        } catch (IOException e) {
+            throw new GradleException("Failed to prepare " + PinyinIndex.ASSET_PATH, e);
+        }
+
+        PinyinIndex.Builder builder = new PinyinIndex.Builder(table);
+        for (int law = 0; law < catalog.getLawCount(); law++) {
+            String path = catalog.getLawPath(law);
+            int doc = builder.addDocument(path, catalog.getLawTitle(law));
+            if (!catalog.getLawFile(law).toLowerCase(Locale.ROOT).endsWith(".md")) {
+                continue;
+            }
+            try {
+                addHeadlines(builder, doc, new File(assetsDir, path));
+            } catch (IOException e) {
+                throw new GradleException("Failed to index " + path, e);
+            }
+        }
+        File target = new File(outputDir, PinyinIndex.ASSET_PATH);
+        try {
+            Files.createDirectories(target.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target.toPath())))) {
+                builder.write(out);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to write " + PinyinIndex.ASSET_PATH, e);
+        }
+    }
+
+    private static PinyinTable readTable() throws IOException {
+        InputStream in = CompilePinyinIndexTask.class.getResourceAsStream(TABLE);
+        if (in == null) {
+            throw new IOException("Missing " + TABLE);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return PinyinTable.read(reader);
+        }
+    }
+
+    private static void addHeadlines(PinyinIndex.Builder builder, int doc, File source) throws IOException {
+        Article article;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(source.toPath()), StandardCharsets.UTF_8))) {
+            article = ArticleParser.parse(reader);
+        }
+        List<Content> contents = article.getContents();
+        for (int i = 0; i < contents.size(); i++) {
+            Content content = contents.get(i);
+            int type = content.getType();
+            if ((type == Type.SECTION_TYPE.getCode() || type == Type.NODE_TYPE.getCode()) && content.getRule() != null) {
+                builder.addHeadline(doc, i, content.getRule());
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2022 The Jerry xu Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package app.incoder.lawrefbook.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.inject.Inject;
+
+import app.incoder.lawrefbook.model.Article;
+import app.incoder.lawrefbook.model.Content;
+import app.incoder.lawrefbook.model.Type;
+import app.incoder.lawrefbook.parser.ArticleParser;
+import app.incoder.lawrefbook.search.SearchIndex;
+
+/**
+ * CompileSearchIndexTask
+ * <p>
+ * 构建期用 {@link ArticleParser} 解析 assets/Laws 下的全部 Markdown，把每条正文切成二元组写入 {@link SearchIndex}，
+ * 运行期全文检索直接读取倒排表。法规按路径排序加入，同样的输入总是得到同样的输出
+ *
+ * @author : Jerry xu
+ * @since : 2026/10/17 21:30
+ */
+public abstract class CompileSearchIndexTask extends DefaultTask {
+
+    /**
+     * assets 下的 Laws 目录
+     */
+    @Internal
+    public abstract DirectoryProperty getLawsDir();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public FileTree getSources() {
+        return getLawsDir().getAsFileTree().matching(t -> t.include("**/*.md"));
+    }
+
+    @TaskAction
+    public void compile() {
+        File outputDir = getOutputDir().get().getAsFile();
+        getFileSystemOperations().delete(t -> t.delete(outputDir));
+        String root = getLawsDir().get().getAsFile().getName();
+        Map<String, File> sources = new TreeMap<>();
+        getSources().visit(details -> {
+            if (!details.isDirectory()) {
+                sources.put(root + "/" + details.getRelativePath().getPathString(), details.getFile());
+            }
+        });
+
+        SearchIndex.Builder builder = new SearchIndex.Builder();
+        for (Map.Entry<String, File> entry : sources.entrySet()) {
+            String path = entry.getKey();
+            try {
+                add(builder, path, entry.getValue());
+            } catch (IOException e) {
+                throw new GradleException("Failed to index " + path, e);
+            }
+        }
+        File target = new File(outputDir, SearchIndex.ASSET_PATH);
+        try {
+            Files.createDirectories(target.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target.toPath())))) {
+                builder.write(out);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Failed to write " + SearchIndex.ASSET_PATH, e);
+        }
+    }
+
+    private static void add(SearchIndex.Builder builder, String path, File source) throws IOException {
+        Article article;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(source.toPath()), StandardCharsets.UTF_8))) {
+            article = ArticleParser.parse(reader);
+        }
+        String name = source.getName();
+        int doc = builder.addDocument(path, name.substring(0, name.length() - ".md".length()));
+        List<Content> contents = article.getContents();
+        for (int i = 0; i < contents.size(); i++) {
+            Content content = contents.get(i);
+            if (content.getType() == Type.CONTENT_TYPE.getCode() && content.getRule() != null) {
+                builder.addUnit(doc, i, content.getRule());
+            }
+        }
+    }
+}